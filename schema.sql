@@ -70,6 +70,12 @@ CREATE TABLE IF NOT EXISTS word_relations (
 CREATE INDEX IF NOT EXISTS idx_word_relations_word_id ON word_relations(word_id);
 CREATE INDEX IF NOT EXISTS idx_word_relations_related_word_id ON word_relations(related_word_id);
 
+-- Hibernate allocates ids for these tables in pooled blocks of 50 so inserts can be batched
+ALTER SEQUENCE words_id_seq INCREMENT BY 50;
+ALTER SEQUENCE word_forms_id_seq INCREMENT BY 50;
+ALTER SEQUENCE word_conjugations_id_seq INCREMENT BY 50;
+ALTER SEQUENCE word_relations_id_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS word_translations (
   id BIGSERIAL PRIMARY KEY,
   source_word_id BIGINT NOT NULL REFERENCES words(id) ON DELETE CASCADE,
@@ -98,6 +104,13 @@ CREATE TABLE IF NOT EXISTS user_words (
   accuracy DOUBLE PRECISION NOT NULL,
   created_at DOUBLE PRECISION NOT NULL
 );
+-- Drop duplicate assignments left by the old per-word inserts before the unique index; the most recently
+-- reviewed row wins (ties broken by id)
+DELETE FROM user_words a
+USING user_words b
+WHERE a.user_id = b.user_id AND a.word_id = b.word_id
+  AND (a.last_seen < b.last_seen OR (a.last_seen = b.last_seen AND a.id < b.id));
+CREATE UNIQUE INDEX IF NOT EXISTS uq_user_words_user_word ON user_words(user_id, word_id);
 CREATE INDEX IF NOT EXISTS idx_user_words_user ON user_words(user_id);
 CREATE INDEX IF NOT EXISTS idx_user_words_word ON user_words(word_id);
 CREATE INDEX IF NOT EXISTS idx_user_words_language ON user_words(language_id);
@@ -112,6 +125,14 @@ CREATE TABLE IF NOT EXISTS paragraphs (
   length SMALLINT,
   created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
 );
+-- Full-text search reads the stored vector through the GIN index instead of re-parsing every row's content
+ALTER TABLE paragraphs ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+  GENERATED ALWAYS AS (to_tsvector('simple', content)) STORED;
+CREATE INDEX IF NOT EXISTS idx_paragraphs_search ON paragraphs USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_paragraphs_level_length ON paragraphs(level, length);
+-- Distinct lower-cased words each paragraph is known to contain, for superset (@>) and overlap (&&) lookups
+ALTER TABLE paragraphs ADD COLUMN IF NOT EXISTS words TEXT[] NOT NULL DEFAULT '{}';
+CREATE INDEX IF NOT EXISTS idx_paragraphs_words ON paragraphs USING GIN (words);
 
 CREATE TABLE IF NOT EXISTS user_paragraphs (
   id BIGSERIAL PRIMARY KEY,
@@ -129,6 +150,13 @@ CREATE TABLE IF NOT EXISTS user_paragraph_words (
   word VARCHAR(255) NOT NULL,
   PRIMARY KEY (user_paragraph_id, word)
 );
+-- Backfill paragraphs.words from the words users requested for them (only paragraphs not filled yet)
+UPDATE paragraphs p SET words = requested.words
+FROM (SELECT up.paragraph_id, array_agg(DISTINCT lower(upw.word)) AS words
+      FROM user_paragraphs up
+      JOIN user_paragraph_words upw ON upw.user_paragraph_id = up.id
+      GROUP BY up.paragraph_id) requested
+WHERE p.id = requested.paragraph_id AND p.words = '{}';
 
 -- Sessions, chat messages, interactions, activities
 CREATE TABLE IF NOT EXISTS sessions (
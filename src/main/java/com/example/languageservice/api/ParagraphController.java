@@ -3,19 +3,37 @@ package com.example.languageservice.api;
 import com.example.languageservice.api.dto.ParagraphRequest;
 import com.example.languageservice.api.dto.ParagraphResponse;
 import com.example.languageservice.domain.service.ParagraphService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.example.languageservice.security.SecurityUtils.getCurrentUserId;
 
 @RestController
 @RequestMapping("/api/v1/paragraph")
 public class ParagraphController {
 
+    private static final Logger log = LoggerFactory.getLogger(ParagraphController.class);
+
     private final ParagraphService paragraphService;
+    // one virtual thread per stream: they spend their life waiting on the model
+    private final ExecutorService streamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${paragraph.stream.timeout:120s}")
+    private Duration streamTimeout = Duration.ofSeconds(120);
 
     public ParagraphController(ParagraphService paragraphService) {
         this.paragraphService = paragraphService;
@@ -27,4 +45,59 @@ public class ParagraphController {
         ParagraphResponse response = paragraphService.generateParagraph(request);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Server-Sent Events variant of {@link #generateParagraph}. Sends "token" events with pieces of the paragraph
+     * text as the model writes them, then one "paragraph" event with the full {@link ParagraphResponse} once it
+     * is stored, or an "error" event. If the client disconnects, generation still finishes and is stored, so the
+     * paid-for paragraph can be reused.
+     */
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamParagraph(@RequestBody ParagraphRequest request) {
+        // the security context does not follow the work onto the stream thread
+        UUID userId = getCurrentUserId();
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        ClientStream client = new ClientStream(emitter);
+        emitter.onCompletion(client::gone);
+        emitter.onTimeout(client::gone);
+        emitter.onError(e -> client.gone());
+
+        streamExecutor.execute(() -> {
+            try {
+                ParagraphResponse response = paragraphService.streamParagraph(userId, request,
+                        text -> client.send(SseEmitter.event().name("token").data(text)));
+                client.send(SseEmitter.event().name("paragraph").data(response, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+                log.warn("Streaming paragraph generation failed", e);
+                client.send(SseEmitter.event().name("error").data("Paragraph generation failed"));
+                emitter.complete();
+            }
+        });
+        return emitter;
+    }
+
+    // sends until the client has gone away, then drops events instead of aborting the generation
+    private static final class ClientStream {
+        private final SseEmitter emitter;
+        private volatile boolean gone = false;
+
+        ClientStream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void send(SseEmitter.SseEventBuilder event) {
+            if (gone) return;
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                gone = true;
+            }
+        }
+
+        void gone() {
+            gone = true;
+        }
+    }
 }
@@ -1,6 +1,9 @@
 package com.example.languageservice.api;
 
+import com.example.languageservice.api.dto.BatchTranslationRequest;
+import com.example.languageservice.api.dto.BatchTranslationResponse;
 import com.example.languageservice.api.dto.UserRandomWordRequest;
+import com.example.languageservice.api.dto.WordSuggestion;
 import com.example.languageservice.domain.model.Word;
 import com.example.languageservice.domain.service.BoxService;
 import com.example.languageservice.domain.service.WordService;
@@ -8,6 +11,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/words")
 @RequiredArgsConstructor
@@ -34,4 +39,23 @@ public class WordController {
         String randomWord = wordService.getRandomWords(count, language, level);
         return ResponseEntity.ok(randomWord);
     }
+
+    // Translates a whole word list (e.g. a paragraph's usedWords) in one call
+    @PostMapping("/translate/batch")
+    public ResponseEntity<BatchTranslationResponse> translateWords(@RequestBody BatchTranslationRequest request) {
+        if (request.getWords() == null || request.getWords().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(wordService.translateWords(
+                request.getWords(), request.getSourceLanguage(), request.getTargetLanguage()));
+    }
+
+    // Autocomplete on every keystroke; answered from memory, no DB query
+    @GetMapping("/suggest")
+    public ResponseEntity<List<WordSuggestion>> suggest(@RequestParam String prefix,
+                                                        @RequestParam String language,
+                                                        @RequestParam(required = false) String level,
+                                                        @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(wordService.suggestWords(prefix, language, level, Math.min(limit, 50)));
+    }
 }
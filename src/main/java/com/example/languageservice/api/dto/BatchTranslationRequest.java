@@ -0,0 +1,12 @@
+package com.example.languageservice.api.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchTranslationRequest {
+    private String sourceLanguage;
+    private String targetLanguage;
+    private List<String> words;
+}
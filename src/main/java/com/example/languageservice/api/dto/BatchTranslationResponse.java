@@ -0,0 +1,29 @@
+package com.example.languageservice.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One entry per requested word, in request order, with the tier that served it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTranslationResponse {
+
+    public enum Tier { CACHE, DB, TARGET_DB, LLM, NOT_FOUND }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String word;
+        private Tier tier;
+        private WordDto translation;
+    }
+
+    private List<Item> items;
+}
@@ -3,10 +3,12 @@ package com.example.languageservice.api.dto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
 @Data
 @Builder
+@NoArgsConstructor
 @AllArgsConstructor
 public class ParagraphResponse {
     private String text;
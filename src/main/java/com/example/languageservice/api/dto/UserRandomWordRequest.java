@@ -7,6 +7,7 @@ import java.util.UUID;
 @Data
 @Builder
 public class UserRandomWordRequest {
+    private UUID userId;
     private String sourceLanguage; // e.g. "en"
     private String level;  // e.g. "A1"
     private int count;     // e.g. 5, 10, 20
@@ -1,14 +1,18 @@
 package com.example.languageservice.api.dto;
 
 import com.example.languageservice.domain.model.Language;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
 import java.util.Map;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class WordDto {
     private Long id;
     private String word;
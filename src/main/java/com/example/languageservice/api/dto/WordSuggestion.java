@@ -0,0 +1,15 @@
+package com.example.languageservice.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WordSuggestion {
+    private String form;
+    private Long wordId;
+    private String level;
+    private boolean base; // false when the completion is a V2/V3/future form of the word
+}
@@ -0,0 +1,47 @@
+package com.example.languageservice.config;
+
+import com.example.languageservice.domain.utils.RedisCodec;
+import com.example.languageservice.domain.utils.VersionedRedisCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Redis infrastructure that is not covered by Spring Boot auto-configuration.
+ * The listener container is shared by every pub/sub subscriber of the service
+ * (e.g. cross-node cache invalidation).
+ */
+@Configuration
+public class RedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    // String keys, raw byte values: used for payloads encoded by the RedisCodec
+    @Bean
+    public RedisTemplate<String, byte[]> binaryRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setHashKeySerializer(RedisSerializer.string());
+        template.setHashValueSerializer(RedisSerializer.byteArray());
+        return template;
+    }
+
+    @Bean
+    public RedisCodec redisCodec(ObjectMapper objectMapper,
+                                 @Value("${redis.codec.format:SMILE}") VersionedRedisCodec.Format format,
+                                 @Value("${redis.codec.compression-threshold:1024}") int compressionThreshold) {
+        return new VersionedRedisCodec(objectMapper, format, compressionThreshold);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.languageservice.domain.index;
+
+import com.example.languageservice.domain.model.LanguageLevel;
+
+/**
+ * Projection row for the suggest index: a base word or word form with the language and level of its word.
+ */
+public record CatalogForm(String form, Long wordId, String language, LanguageLevel level, boolean base) {
+}
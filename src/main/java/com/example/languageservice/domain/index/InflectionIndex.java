@@ -0,0 +1,202 @@
+package com.example.languageservice.domain.index;
+
+import com.example.languageservice.api.dto.WordDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process map from every surface form (base word, V2/V3/future forms, conjugations) to its word id.
+ * The bulk of the catalog lives in an immutable {@link SortedStringDictionary} built at startup by
+ * {@link InflectionIndexLoader}; words saved afterwards go into a small delta map that is folded into
+ * the dictionary once it grows past {@code mergeThreshold}. The merge runs on a background thread while
+ * lookups keep using the old dictionary plus the delta. New forms are broadcast over Redis pub/sub
+ * so every node's index stays complete.
+ */
+@Component
+public class InflectionIndex implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(InflectionIndex.class);
+    private static final char SEPARATOR = '\u001f';
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String channel;
+    private final int mergeThreshold;
+    private final int fuzzyMaxEdits;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile SortedStringDictionary dictionary = SortedStringDictionary.empty();
+    private volatile SymmetricDeleteIndex fuzzy = SymmetricDeleteIndex.empty();
+    private final Map<String, Long> delta = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+    private final AtomicBoolean merging = new AtomicBoolean();
+    private final ExecutorService mergeExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("inflection-merge").daemon().factory());
+
+    public InflectionIndex(RedisTemplate<String, String> redisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           MeterRegistry meterRegistry,
+                           @Value("${inflection-index.channel:words:forms}") String channel,
+                           @Value("${inflection-index.merge-threshold:10000}") int mergeThreshold,
+                           @Value("${inflection-index.fuzzy-max-edits:1}") int fuzzyMaxEdits) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.mergeThreshold = mergeThreshold;
+        this.fuzzyMaxEdits = fuzzyMaxEdits;
+
+        Gauge.builder("inflection.index.entries", this, i -> i.dictionary.size() + i.delta.size())
+                .register(meterRegistry);
+        Gauge.builder("inflection.index.bytes", this, i -> i.dictionary.sizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("inflection.index.fuzzy.bytes", this, i -> i.fuzzy.sizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    /**
+     * True once the startup build finished. Before that callers must fall back to the DB lookups,
+     * afterwards a miss here is authoritative.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Optional<Long> lookup(String surfaceForm) {
+        if (surfaceForm == null || surfaceForm.isEmpty()) return Optional.empty();
+        Long recent = delta.get(surfaceForm);
+        if (recent != null) return Optional.of(recent);
+        OptionalLong id = dictionary.get(surfaceForm);
+        return id.isPresent() ? Optional.of(id.getAsLong()) : Optional.empty();
+    }
+
+    /**
+     * Closest known surface forms for a misspelled input, best first. Short inputs get fewer edits
+     * (none below 4 characters, one below 8) so "in" never turns into "an". Recent delta entries are
+     * scanned linearly; they stay few because the delta is merged at {@code mergeThreshold}.
+     */
+    public List<SymmetricDeleteIndex.Match> suggest(String input, int limit) {
+        if (input == null) return List.of();
+        int maxDistance = Math.min(fuzzyMaxEdits, input.length() < 4 ? 0 : input.length() < 8 ? 1 : 2);
+        if (maxDistance == 0) return List.of();
+
+        List<SymmetricDeleteIndex.Match> matches = new ArrayList<>(fuzzy.lookup(input, maxDistance, limit));
+        delta.forEach((form, wordId) -> {
+            int d = SymmetricDeleteIndex.distance(input, form, maxDistance);
+            if (d <= maxDistance) matches.add(new SymmetricDeleteIndex.Match(form, wordId, d));
+        });
+        matches.sort(SymmetricDeleteIndex.ranking(input));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /**
+     * Swaps in a freshly built dictionary. Delta entries recorded while the build was running are kept
+     * and win over the snapshot only when the snapshot does not know the form yet.
+     */
+    public synchronized void replace(SortedStringDictionary built) {
+        this.fuzzy = SymmetricDeleteIndex.build(built, fuzzyMaxEdits);
+        this.dictionary = built;
+        delta.keySet().removeIf(form -> built.get(form).isPresent());
+        this.ready = true;
+        log.info("Inflection index ready: {} forms, {} bytes, fuzzy {} bytes",
+                built.size(), built.sizeInBytes(), fuzzy.sizeInBytes());
+    }
+
+    /**
+     * Registers a newly saved word aggregate: base word, forms and conjugated forms.
+     */
+    public void addWord(WordDto word) {
+        List<String> forms = new ArrayList<>();
+        forms.add(word.getWord());
+        if (word.getForms() != null) forms.addAll(word.getForms());
+        if (word.getConjugations() != null) forms.addAll(word.getConjugations().values());
+        addWord(word.getId(), forms);
+    }
+
+    /**
+     * Registers the surface forms of a newly saved word on this node and broadcasts them to the others.
+     * Inside a transaction this happens after commit.
+     */
+    public void addWord(Long wordId, Collection<String> surfaceForms) {
+        if (wordId == null || surfaceForms == null || surfaceForms.isEmpty()) return;
+        List<String> forms = surfaceForms.stream().filter(f -> f != null && !f.isEmpty()).distinct().toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addAndPublish(wordId, forms);
+                }
+            });
+        } else {
+            addAndPublish(wordId, forms);
+        }
+    }
+
+    private void addAndPublish(Long wordId, List<String> forms) {
+        addLocal(wordId, forms);
+        try {
+            StringJoiner message = new StringJoiner(String.valueOf(SEPARATOR));
+            message.add(nodeId).add(String.valueOf(wordId));
+            forms.forEach(message::add);
+            redisTemplate.convertAndSend(channel, message.toString());
+        } catch (Exception e) {
+            log.warn("Failed to broadcast forms of word {}", wordId, e);
+        }
+    }
+
+    private void addLocal(Long wordId, List<String> forms) {
+        for (String form : forms) {
+            // existing mappings keep priority, same as the DB lookup order
+            if (dictionary.get(form).isEmpty()) delta.putIfAbsent(form, wordId);
+        }
+        if (delta.size() >= mergeThreshold && merging.compareAndSet(false, true)) {
+            mergeExecutor.execute(this::mergeDelta);
+        }
+    }
+
+    private void mergeDelta() {
+        try {
+            SortedStringDictionary base = dictionary;
+            Map<String, Long> pending = new HashMap<>(delta);
+            SortedStringDictionary merged = base.merge(pending);
+            SymmetricDeleteIndex mergedFuzzy = SymmetricDeleteIndex.build(merged, fuzzyMaxEdits);
+            synchronized (this) {
+                // a replace() while merging wins; the delta is still intact and merges next time
+                if (dictionary != base) return;
+                fuzzy = mergedFuzzy;
+                dictionary = merged;
+                pending.forEach(delta::remove);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to merge {} recent forms into the inflection index", delta.size(), e);
+        } finally {
+            merging.set(false);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(String.valueOf(SEPARATOR));
+        if (parts.length < 3 || parts[0].equals(nodeId)) return;
+        addLocal(Long.valueOf(parts[1]), Arrays.asList(parts).subList(2, parts.length));
+    }
+}
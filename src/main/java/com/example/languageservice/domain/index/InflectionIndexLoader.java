@@ -0,0 +1,56 @@
+package com.example.languageservice.domain.index;
+
+import com.example.languageservice.domain.repository.WordConjugationRepository;
+import com.example.languageservice.domain.repository.WordFormRepository;
+import com.example.languageservice.domain.repository.WordRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Builds the {@link InflectionIndex} off the startup thread by streaming words, word_forms and
+ * word_conjugations. Until it finishes, lookups fall back to the DB.
+ */
+@Component
+@RequiredArgsConstructor
+public class InflectionIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(InflectionIndexLoader.class);
+
+    private final WordRepository wordRepository;
+    private final WordFormRepository wordFormRepository;
+    private final WordConjugationRepository wordConjugationRepository;
+    private final InflectionIndex inflectionIndex;
+    private final EntityManager entityManager;
+
+    @Async("threadPoolTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        long start = System.currentTimeMillis();
+        SortedStringDictionary.Builder builder = SortedStringDictionary.builder();
+
+        // order matters: on duplicate surface forms the first source wins (words → forms → conjugations)
+        add(builder, wordRepository.streamSurfaceForms());
+        add(builder, wordFormRepository.streamSurfaceForms());
+        add(builder, wordConjugationRepository.streamSurfaceForms());
+
+        inflectionIndex.replace(builder.build());
+        log.info("Inflection index built in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private void add(SortedStringDictionary.Builder builder, Stream<SurfaceForm> rows) {
+        try (rows) {
+            rows.forEach(row -> builder.add(row.form(), row.wordId()));
+        }
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.languageservice.domain.index;
+
+import com.example.languageservice.domain.model.LanguageLevel;
+import com.example.languageservice.domain.model.ParagraphLength;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index from word to stored paragraph ids, used to reuse a paragraph that covers most
+ * of the requested words instead of calling the LLM. Postings and the level/length filters are
+ * {@link RoaringBitmap}s over the paragraph id. Terms are the lower-cased words of the content plus the
+ * words the LLM reported as used. Built at startup by {@link ParagraphIndexLoader}; paragraphs saved
+ * afterwards are added after commit and broadcast over Redis pub/sub like the word indexes.
+ * Paragraph ids must fit in an int; larger ids are not indexed.
+ */
+@Component
+public class ParagraphIndex implements MessageListener {
+
+    /** A stored paragraph and which of the requested words it contains. */
+    public record Match(long paragraphId, List<String> coveredWords, int requested) {
+        public double coverage() {
+            return requested == 0 ? 0 : (double) coveredWords.size() / requested;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ParagraphIndex.class);
+    private static final char SEPARATOR = '\u001f';
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{M}]+");
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Timer queryTimer;
+
+    // guarded by lock: RoaringBitmap is not safe for reads concurrent with writes
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, RoaringBitmap> postings = new HashMap<>();
+    private final Map<LanguageLevel, RoaringBitmap> byLevel = new EnumMap<>(LanguageLevel.class);
+    private final Map<ParagraphLength, RoaringBitmap> byLength = new EnumMap<>(ParagraphLength.class);
+    private final RoaringBitmap all = new RoaringBitmap();
+    private volatile boolean ready = false;
+
+    public ParagraphIndex(RedisTemplate<String, String> redisTemplate,
+                          RedisMessageListenerContainer listenerContainer,
+                          MeterRegistry meterRegistry,
+                          @Value("${paragraph-index.channel:paragraphs:index}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+
+        this.queryTimer = Timer.builder("paragraph.index.query").register(meterRegistry);
+        Gauge.builder("paragraph.index.paragraphs", this, i -> i.read(() -> (long) i.all.getCardinality()))
+                .register(meterRegistry);
+        Gauge.builder("paragraph.index.terms", this, i -> i.read(() -> (long) i.postings.size()))
+                .register(meterRegistry);
+        Gauge.builder("paragraph.index.bytes", this, ParagraphIndex::sizeInBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    /**
+     * True once the startup build finished; before that a miss here says nothing.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    void markReady() {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(RoaringBitmap::runOptimize);
+            all.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Paragraph index ready: {} paragraphs, {} terms, {} bytes",
+                read(all::getCardinality), read(postings::size), sizeInBytes());
+    }
+
+    /**
+     * Up to {@code limit} paragraphs of the given level and length (null = any), ranked by how many of
+     * {@code words} they contain, then newest first. Paragraphs containing none of the words are not returned.
+     * <p>
+     * Counting uses bit-sliced counters: {@code atLeast[c]} holds the paragraphs that contain at least c+1 of
+     * the words seen so far, and each word's postings promote paragraphs one level up. That is n²/2 bitmap
+     * operations for n words, independent of how many paragraphs match.
+     */
+    public List<Match> topMatches(Collection<String> words, LanguageLevel level, ParagraphLength length, int limit) {
+        Map<String, String> terms = new LinkedHashMap<>();
+        for (String word : words) {
+            if (word != null && !word.isBlank()) terms.putIfAbsent(normalize(word), word);
+        }
+        if (terms.isEmpty() || limit <= 0) return List.of();
+
+        return queryTimer.record(() -> read(() -> {
+            RoaringBitmap filter = all;
+            if (level != null) filter = RoaringBitmap.and(filter, byLevel.getOrDefault(level, new RoaringBitmap()));
+            if (length != null) filter = RoaringBitmap.and(filter, byLength.getOrDefault(length, new RoaringBitmap()));
+
+            int n = terms.size();
+            RoaringBitmap[] atLeast = new RoaringBitmap[n];
+            for (int c = 0; c < n; c++) atLeast[c] = new RoaringBitmap();
+            int seen = 0;
+            for (String term : terms.keySet()) {
+                RoaringBitmap list = postings.get(term);
+                if (list == null) continue;
+                RoaringBitmap hits = RoaringBitmap.and(list, filter);
+                if (hits.isEmpty()) continue;
+                for (int c = Math.min(seen, n - 1); c > 0; c--) atLeast[c].or(RoaringBitmap.and(atLeast[c - 1], hits));
+                atLeast[0].or(hits);
+                seen++;
+            }
+
+            List<Match> result = new ArrayList<>(limit);
+            for (int c = n - 1; c >= 0 && result.size() < limit; c--) {
+                RoaringBitmap higher = c + 1 < n ? atLeast[c + 1] : null;
+                IntIterator ids = atLeast[c].getReverseIntIterator();
+                while (ids.hasNext() && result.size() < limit) {
+                    int id = ids.next();
+                    if (higher == null || !higher.contains(id)) result.add(match(id, terms));
+                }
+            }
+            return result;
+        }));
+    }
+
+    /**
+     * Indexes a newly saved paragraph on this node and broadcasts it. Inside a transaction this happens after commit.
+     */
+    public void addParagraph(long paragraphId, LanguageLevel level, ParagraphLength length,
+                             String content, Collection<String> usedWords) {
+        Set<String> terms = terms(content, usedWords);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addAndPublish(paragraphId, level, length, terms);
+                }
+            });
+        } else {
+            addAndPublish(paragraphId, level, length, terms);
+        }
+    }
+
+    /** Adds a paragraph on this node only (startup build, broadcasts from other nodes). */
+    void add(long paragraphId, LanguageLevel level, ParagraphLength length, Collection<String> terms) {
+        if (paragraphId < 0 || paragraphId > Integer.MAX_VALUE) {
+            log.warn("Paragraph id {} does not fit the index, skipping", paragraphId);
+            return;
+        }
+        int id = (int) paragraphId;
+        lock.writeLock().lock();
+        try {
+            all.add(id);
+            if (level != null) byLevel.computeIfAbsent(level, l -> new RoaringBitmap()).add(id);
+            if (length != null) byLength.computeIfAbsent(length, l -> new RoaringBitmap()).add(id);
+            for (String term : terms) postings.computeIfAbsent(term, t -> new RoaringBitmap()).add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Distinct lower-cased words of the content plus the used words (which may be phrases). */
+    static Set<String> terms(String content, Collection<String> usedWords) {
+        Set<String> terms = new HashSet<>();
+        if (content != null) {
+            for (String token : NON_WORD.split(content.toLowerCase(Locale.ROOT))) {
+                if (!token.isEmpty()) terms.add(token);
+            }
+        }
+        if (usedWords != null) {
+            for (String word : usedWords) {
+                if (word != null && !word.isBlank()) terms.add(normalize(word));
+            }
+        }
+        return terms;
+    }
+
+    /** Normalization shared by the index terms and the paragraphs.words column. */
+    public static String normalize(String word) {
+        return word.trim().toLowerCase(Locale.ROOT);
+    }
+
+    long sizeInBytes() {
+        return read(() -> {
+            long bytes = all.getLongSizeInBytes();
+            for (RoaringBitmap list : postings.values()) bytes += list.getLongSizeInBytes();
+            for (RoaringBitmap list : byLevel.values()) bytes += list.getLongSizeInBytes();
+            for (RoaringBitmap list : byLength.values()) bytes += list.getLongSizeInBytes();
+            return bytes;
+        });
+    }
+
+    // caller holds the read lock
+    private Match match(int id, Map<String, String> terms) {
+        List<String> covered = new ArrayList<>();
+        terms.forEach((term, word) -> {
+            RoaringBitmap list = postings.get(term);
+            if (list != null && list.contains(id)) covered.add(word);
+        });
+        return new Match(id, covered, terms.size());
+    }
+
+    private <T> T read(Supplier<T> body) {
+        lock.readLock().lock();
+        try {
+            return body.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addAndPublish(long paragraphId, LanguageLevel level, ParagraphLength length, Set<String> terms) {
+        add(paragraphId, level, length, terms);
+        try {
+            StringJoiner message = new StringJoiner(String.valueOf(SEPARATOR));
+            message.add(nodeId).add(String.valueOf(paragraphId))
+                    .add(level != null ? level.name() : "")
+                    .add(length != null ? length.name() : "");
+            terms.forEach(message::add);
+            redisTemplate.convertAndSend(channel, message.toString());
+        } catch (Exception e) {
+            log.warn("Failed to broadcast paragraph {} to the index", paragraphId, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(String.valueOf(SEPARATOR), -1);
+        if (parts.length < 4 || parts[0].equals(nodeId)) return;
+        add(Long.parseLong(parts[1]),
+                parts[2].isEmpty() ? null : LanguageLevel.valueOf(parts[2]),
+                parts[3].isEmpty() ? null : ParagraphLength.valueOf(parts[3]),
+                Arrays.asList(parts).subList(4, parts.length));
+    }
+}
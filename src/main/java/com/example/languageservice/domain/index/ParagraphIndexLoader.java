@@ -0,0 +1,41 @@
+package com.example.languageservice.domain.index;
+
+import com.example.languageservice.domain.repository.ParagraphRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Builds the {@link ParagraphIndex} off the startup thread by streaming the paragraphs table. Until it
+ * finishes, paragraph requests skip the index and use the Redis/Postgres lookups.
+ */
+@Component
+@RequiredArgsConstructor
+public class ParagraphIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(ParagraphIndexLoader.class);
+
+    private final ParagraphRepository paragraphRepository;
+    private final ParagraphIndex paragraphIndex;
+
+    @Async("threadPoolTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        long start = System.currentTimeMillis();
+        // projection rows are not managed entities, so the persistence context stays empty
+        try (Stream<ParagraphText> rows = paragraphRepository.streamIndexRows()) {
+            rows.forEach(row -> paragraphIndex.add(row.id(), row.level(), row.length(),
+                    ParagraphIndex.terms(row.content(), row.words())));
+        }
+        paragraphIndex.markReady();
+        log.info("Paragraph index built in {} ms", System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.languageservice.domain.index;
+
+import com.example.languageservice.domain.model.LanguageLevel;
+import com.example.languageservice.domain.model.ParagraphLength;
+
+import java.util.List;
+
+/**
+ * Projection row for the paragraph index: a stored paragraph's id, filters, content and word array.
+ */
+public record ParagraphText(Long id, LanguageLevel level, ParagraphLength length, String content, List<String> words) {
+}
@@ -0,0 +1,171 @@
+package com.example.languageservice.domain.index;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Immutable string → long dictionary stored as one sorted UTF-8 byte blob plus offset and value arrays.
+ * Roughly (bytes per key + 12) bytes per entry, versus ~100 bytes per entry for a HashMap<String, Long>.
+ * Lookup is a binary search over unsigned byte order, without allocating per probe apart from the key bytes.
+ */
+public final class SortedStringDictionary {
+
+    private static final SortedStringDictionary EMPTY = new SortedStringDictionary(new byte[0], new int[]{0}, new long[0]);
+
+    private final byte[] keys;
+    private final int[] offsets; // offsets[i]..offsets[i+1] is key i
+    private final long[] values;
+
+    private SortedStringDictionary(byte[] keys, int[] offsets, long[] values) {
+        this.keys = keys;
+        this.offsets = offsets;
+        this.values = values;
+    }
+
+    public static SortedStringDictionary empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public long sizeInBytes() {
+        return keys.length + 4L * offsets.length + 8L * values.length;
+    }
+
+    /** Key at position {@code i} in sorted order, 0 ≤ i < size(). */
+    public String keyAt(int i) {
+        return new String(keys, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+    }
+
+    public long valueAt(int i) {
+        return values[i];
+    }
+
+    /** Position of the first key ≥ {@code key}; keys sharing a prefix are contiguous from there. */
+    public int ceiling(byte[] key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Arrays.compareUnsigned(keys, offsets[mid], offsets[mid + 1], key, 0, key.length) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    public boolean keyStartsWith(int i, byte[] prefix) {
+        int length = offsets[i + 1] - offsets[i];
+        return length >= prefix.length
+                && Arrays.equals(keys, offsets[i], offsets[i] + prefix.length, prefix, 0, prefix.length);
+    }
+
+    public OptionalLong get(String key) {
+        int i = indexOf(key.getBytes(StandardCharsets.UTF_8));
+        return i >= 0 ? OptionalLong.of(values[i]) : OptionalLong.empty();
+    }
+
+    /**
+     * Returns a new dictionary holding this dictionary's entries plus the given ones.
+     * Existing keys keep their value, in line with the first-wins rule of the builder.
+     */
+    public SortedStringDictionary merge(Map<String, Long> additions) {
+        Builder builder = new Builder(size() + additions.size());
+        for (int i = 0; i < size(); i++) {
+            builder.add(Arrays.copyOfRange(keys, offsets[i], offsets[i + 1]), values[i]);
+        }
+        additions.forEach(builder::add);
+        return builder.build();
+    }
+
+    private int indexOf(byte[] key) {
+        int low = 0;
+        int high = values.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Arrays.compareUnsigned(keys, offsets[mid], offsets[mid + 1], key, 0, key.length);
+            if (cmp < 0) low = mid + 1;
+            else if (cmp > 0) high = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    public static Builder builder() {
+        return new Builder(1024);
+    }
+
+    /**
+     * Collects entries in any order. When the same key is added twice, the first value wins,
+     * so callers add their highest-priority source first.
+     */
+    public static final class Builder {
+        private final List<byte[]> keys;
+        private long[] values;
+        private int size;
+
+        private Builder(int expectedSize) {
+            this.keys = new ArrayList<>(expectedSize);
+            this.values = new long[Math.max(expectedSize, 16)];
+        }
+
+        public Builder add(String key, long value) {
+            if (key == null || key.isEmpty()) return this;
+            return add(key.getBytes(StandardCharsets.UTF_8), value);
+        }
+
+        private Builder add(byte[] key, long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            keys.add(key);
+            values[size++] = value;
+            return this;
+        }
+
+        public SortedStringDictionary build() {
+            if (size == 0) return EMPTY;
+            // stable sort keeps insertion order among equal keys → first added wins on dedup
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparing(keys::get, Arrays::compareUnsigned));
+
+            int unique = 0;
+            long totalBytes = 0;
+            byte[] previous = null;
+            for (Integer i : order) {
+                byte[] key = keys.get(i);
+                if (previous != null && Arrays.equals(previous, key)) continue;
+                unique++;
+                totalBytes += key.length;
+                previous = key;
+            }
+            if (totalBytes > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Dictionary exceeds 2 GB of key data");
+            }
+
+            byte[] blob = new byte[(int) totalBytes];
+            int[] offsets = new int[unique + 1];
+            long[] vals = new long[unique];
+            int n = 0;
+            int pos = 0;
+            previous = null;
+            for (Integer i : order) {
+                byte[] key = keys.get(i);
+                if (previous != null && Arrays.equals(previous, key)) continue;
+                System.arraycopy(key, 0, blob, pos, key.length);
+                offsets[n] = pos;
+                vals[n] = values[i];
+                pos += key.length;
+                n++;
+                previous = key;
+            }
+            offsets[unique] = pos;
+            return new SortedStringDictionary(blob, offsets, vals);
+        }
+    }
+}
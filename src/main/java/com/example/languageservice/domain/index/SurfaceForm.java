@@ -0,0 +1,8 @@
+package com.example.languageservice.domain.index;
+
+/**
+ * Projection row used to stream every surface form of the catalog (base word, forms, conjugations)
+ * together with the id of the word it belongs to.
+ */
+public record SurfaceForm(String form, Long wordId) {
+}
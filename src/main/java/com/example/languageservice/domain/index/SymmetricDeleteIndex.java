@@ -0,0 +1,156 @@
+package com.example.languageservice.domain.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Typo-tolerant lookup over the keys of a {@link SortedStringDictionary} (symmetric delete scheme).
+ * Every key is indexed under all strings obtained by deleting up to {@code maxEdits} characters; a query
+ * generates its own deletes and only keys sharing one of them are verified with an edit distance.
+ * The deletes are not stored: each is kept as a 32-bit hash packed with the key's dictionary position into
+ * one sorted long[], so the index costs 8 bytes per delete. Hash collisions only add candidates that the
+ * distance check then rejects.
+ */
+public final class SymmetricDeleteIndex {
+
+    public record Match(String form, long wordId, int distance) {}
+
+    private static final SymmetricDeleteIndex EMPTY =
+            new SymmetricDeleteIndex(SortedStringDictionary.empty(), new long[0], 0);
+
+    private final SortedStringDictionary dictionary;
+    private final long[] entries; // (hash of delete << 32) | dictionary position, sorted
+    private final int maxEdits;
+
+    private SymmetricDeleteIndex(SortedStringDictionary dictionary, long[] entries, int maxEdits) {
+        this.dictionary = dictionary;
+        this.entries = entries;
+        this.maxEdits = maxEdits;
+    }
+
+    public static SymmetricDeleteIndex empty() {
+        return EMPTY;
+    }
+
+    public static SymmetricDeleteIndex build(SortedStringDictionary dictionary, int maxEdits) {
+        if (dictionary.size() == 0 || maxEdits <= 0) return new SymmetricDeleteIndex(dictionary, new long[0], maxEdits);
+        long[] entries = new long[dictionary.size() * 8];
+        int n = 0;
+        for (int i = 0; i < dictionary.size(); i++) {
+            for (String delete : deletes(dictionary.keyAt(i), maxEdits)) {
+                if (n == entries.length) entries = Arrays.copyOf(entries, n * 2);
+                entries[n++] = pack(delete.hashCode(), i);
+            }
+        }
+        entries = Arrays.copyOf(entries, n);
+        Arrays.sort(entries);
+        return new SymmetricDeleteIndex(dictionary, entries, maxEdits);
+    }
+
+    public int maxEdits() {
+        return maxEdits;
+    }
+
+    public long sizeInBytes() {
+        return 8L * entries.length;
+    }
+
+    /**
+     * Keys within {@code maxDistance} edits of the input, best first: smaller distance, then closer length,
+     * then alphabetical.
+     */
+    public List<Match> lookup(String input, int maxDistance, int limit) {
+        int distance = Math.min(maxDistance, maxEdits);
+        if (input == null || input.isEmpty() || distance <= 0 || entries.length == 0) return List.of();
+
+        Set<Integer> checked = new HashSet<>();
+        List<Match> matches = new ArrayList<>();
+        for (String delete : deletes(input, distance)) {
+            int hash = delete.hashCode();
+            for (int i = lowerBound(pack(hash, 0)); i < entries.length && (int) (entries[i] >> 32) == hash; i++) {
+                int position = (int) entries[i];
+                if (!checked.add(position)) continue;
+                String key = dictionary.keyAt(position);
+                int d = distance(input, key, distance);
+                if (d <= distance) matches.add(new Match(key, dictionary.valueAt(position), d));
+            }
+        }
+        matches.sort(ranking(input));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    static Comparator<Match> ranking(String input) {
+        return Comparator.comparingInt(Match::distance)
+                .thenComparingInt(m -> Math.abs(m.form().length() - input.length()))
+                .thenComparing(Match::form);
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions).
+     * Returns {@code max + 1} as soon as the distance is known to exceed {@code max}.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) return max + 1;
+        int[] prevPrev = new int[b.length() + 1];
+        int[] prev = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(prev[j] + 1, current[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, prevPrev[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) return max + 1;
+            int[] recycled = prevPrev;
+            prevPrev = prev;
+            prev = current;
+            current = recycled;
+        }
+        return prev[b.length()];
+    }
+
+    // the term itself plus every string reachable by deleting 1..maxEdits characters
+    private static Set<String> deletes(String term, int maxEdits) {
+        Set<String> result = new HashSet<>();
+        result.add(term);
+        List<String> frontier = List.of(term);
+        for (int edit = 0; edit < maxEdits; edit++) {
+            List<String> next = new ArrayList<>();
+            for (String s : frontier) {
+                if (s.length() <= 1) continue;
+                for (int i = 0; i < s.length(); i++) {
+                    String delete = s.substring(0, i) + s.substring(i + 1);
+                    if (result.add(delete)) next.add(delete);
+                }
+            }
+            frontier = next;
+        }
+        return result;
+    }
+
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static long pack(int hash, int position) {
+        return ((long) hash << 32) | (position & 0xffffffffL);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.languageservice.domain.index;
+
+import com.example.languageservice.api.dto.WordDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Prefix autocomplete over base words and word forms, one {@link SortedStringDictionary} per
+ * (language, level). Keys are the lower-cased form followed by the original spelling, so a prefix is a
+ * binary search plus a short forward scan. Words saved after the startup build go into a per-pool
+ * skip list that is folded in at {@code mergeThreshold}; new words are broadcast like the inflection index.
+ */
+@Component
+public class WordSuggestIndex implements MessageListener {
+
+    public record Suggestion(String form, long wordId, String level, boolean base) {}
+
+    private static final Logger log = LoggerFactory.getLogger(WordSuggestIndex.class);
+    private static final char SEPARATOR = '\u001f';
+    // how many prefix matches are ranked per pool before taking the top k
+    private static final int SCAN_FACTOR = 32;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String channel;
+    private final int mergeThreshold;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile Map<String, SortedStringDictionary> pools = Map.of();
+    private final Map<String, ConcurrentSkipListMap<String, Long>> deltas = new ConcurrentHashMap<>();
+
+    public WordSuggestIndex(RedisTemplate<String, String> redisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            MeterRegistry meterRegistry,
+                            @Value("${suggest-index.channel:words:suggest}") String channel,
+                            @Value("${suggest-index.merge-threshold:2000}") int mergeThreshold) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.mergeThreshold = mergeThreshold;
+
+        Gauge.builder("suggest.index.entries", this, i -> i.pools.values().stream().mapToLong(SortedStringDictionary::size).sum())
+                .register(meterRegistry);
+        Gauge.builder("suggest.index.bytes", this, i -> i.pools.values().stream().mapToLong(SortedStringDictionary::sizeInBytes).sum())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    /**
+     * Up to {@code limit} completions of {@code prefix}, case-insensitive, one per word. Base words rank
+     * before forms, then shorter before longer. A null level searches every level of the language.
+     */
+    public List<Suggestion> suggest(String prefix, String language, String level, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) return List.of();
+        String normalized = prefix.toLowerCase(Locale.ROOT);
+        byte[] key = normalized.getBytes(StandardCharsets.UTF_8);
+        int window = limit * SCAN_FACTOR;
+
+        List<Suggestion> candidates = new ArrayList<>();
+        for (String pool : poolsOf(language, level)) {
+            String poolLevel = pool.substring(pool.indexOf(':') + 1);
+            SortedStringDictionary dictionary = pools.getOrDefault(pool, SortedStringDictionary.empty());
+            for (int i = dictionary.ceiling(key), n = 0;
+                 i < dictionary.size() && n < window && dictionary.keyStartsWith(i, key); i++, n++) {
+                candidates.add(suggestion(dictionary.keyAt(i), dictionary.valueAt(i), poolLevel));
+            }
+            ConcurrentSkipListMap<String, Long> delta = deltas.get(pool);
+            if (delta != null) {
+                delta.subMap(normalized, normalized + Character.MAX_VALUE).entrySet().stream()
+                        .limit(window)
+                        .forEach(e -> candidates.add(suggestion(e.getKey(), e.getValue(), poolLevel)));
+            }
+        }
+
+        candidates.sort(Comparator.comparing((Suggestion s) -> !s.base())
+                .thenComparingInt(s -> s.form().length())
+                .thenComparing(Suggestion::form));
+        Set<Long> seen = new HashSet<>();
+        List<Suggestion> result = new ArrayList<>(limit);
+        for (Suggestion s : candidates) {
+            if (seen.add(s.wordId())) result.add(s);
+            if (result.size() == limit) break;
+        }
+        return result;
+    }
+
+    /**
+     * Swaps in freshly built pools. Delta entries recorded while the build was running are kept unless
+     * the snapshot already has them.
+     */
+    public synchronized void replace(Map<String, SortedStringDictionary> built) {
+        pools = Map.copyOf(built);
+        deltas.forEach((pool, delta) -> {
+            SortedStringDictionary dictionary = built.get(pool);
+            if (dictionary != null) delta.keySet().removeIf(k -> dictionary.get(k).isPresent());
+        });
+        log.info("Suggest index ready: {} pools, {} entries", built.size(),
+                built.values().stream().mapToLong(SortedStringDictionary::size).sum());
+    }
+
+    /**
+     * Registers a newly saved word on this node and broadcasts it. Inside a transaction this happens after commit.
+     */
+    public void addWord(WordDto word) {
+        if (word.getId() == null || word.getLanguage() == null || word.getLevel() == null) return;
+        List<String> forms = new ArrayList<>();
+        forms.add(word.getWord());
+        if (word.getForms() != null) forms.addAll(word.getForms());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addAndPublish(word.getId(), word.getLanguage(), word.getLevel(), forms);
+                }
+            });
+        } else {
+            addAndPublish(word.getId(), word.getLanguage(), word.getLevel(), forms);
+        }
+    }
+
+    /** Builder key: lower-cased form, separator, original spelling. */
+    static String key(String form) {
+        return form.toLowerCase(Locale.ROOT) + SEPARATOR + form;
+    }
+
+    /** Builder value: word id with the lowest bit set for forms, clear for base words. */
+    static long value(long wordId, boolean base) {
+        return wordId << 1 | (base ? 0 : 1);
+    }
+
+    static String pool(String language, String level) {
+        return language + ":" + level;
+    }
+
+    private void addAndPublish(Long wordId, String language, String level, List<String> forms) {
+        addLocal(wordId, language, level, forms);
+        try {
+            StringJoiner message = new StringJoiner(String.valueOf(SEPARATOR));
+            message.add(nodeId).add(String.valueOf(wordId)).add(language).add(level);
+            forms.forEach(message::add);
+            redisTemplate.convertAndSend(channel, message.toString());
+        } catch (Exception e) {
+            log.warn("Failed to broadcast suggest forms of word {}", wordId, e);
+        }
+    }
+
+    // forms.get(0) is the base word
+    private void addLocal(Long wordId, String language, String level, List<String> forms) {
+        String pool = pool(language, level);
+        ConcurrentSkipListMap<String, Long> delta = deltas.computeIfAbsent(pool, p -> new ConcurrentSkipListMap<>());
+        for (int i = 0; i < forms.size(); i++) {
+            String form = forms.get(i);
+            if (form == null || form.isEmpty()) continue;
+            delta.putIfAbsent(key(form), value(wordId, i == 0));
+        }
+        if (delta.size() >= mergeThreshold) mergeDelta(pool);
+    }
+
+    private synchronized void mergeDelta(String pool) {
+        ConcurrentSkipListMap<String, Long> delta = deltas.get(pool);
+        if (delta == null || delta.size() < mergeThreshold) return;
+        Map<String, Long> pending = new HashMap<>(delta);
+        Map<String, SortedStringDictionary> next = new HashMap<>(pools);
+        next.put(pool, next.getOrDefault(pool, SortedStringDictionary.empty()).merge(pending));
+        pools = Map.copyOf(next);
+        delta.keySet().removeAll(pending.keySet());
+    }
+
+    private List<String> poolsOf(String language, String level) {
+        if (level != null) return List.of(pool(language, level));
+        String prefix = language + ":";
+        Set<String> all = new TreeSet<>(pools.keySet());
+        all.addAll(deltas.keySet());
+        return all.stream().filter(p -> p.startsWith(prefix)).toList();
+    }
+
+    private static Suggestion suggestion(String key, long value, String level) {
+        return new Suggestion(key.substring(key.indexOf(SEPARATOR) + 1), value >>> 1, level, (value & 1) == 0);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(String.valueOf(SEPARATOR));
+        if (parts.length < 5 || parts[0].equals(nodeId)) return;
+        addLocal(Long.valueOf(parts[1]), parts[2], parts[3], Arrays.asList(parts).subList(4, parts.length));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.languageservice.domain.index;
+
+import com.example.languageservice.domain.repository.WordFormRepository;
+import com.example.languageservice.domain.repository.WordRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Builds the {@link WordSuggestIndex} off the startup thread by streaming words and word_forms.
+ */
+@Component
+@RequiredArgsConstructor
+public class WordSuggestIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(WordSuggestIndexLoader.class);
+
+    private final WordRepository wordRepository;
+    private final WordFormRepository wordFormRepository;
+    private final WordSuggestIndex wordSuggestIndex;
+    private final EntityManager entityManager;
+
+    @Async("threadPoolTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        long start = System.currentTimeMillis();
+        Map<String, SortedStringDictionary.Builder> builders = new HashMap<>();
+
+        // base words first so they win over an identical form spelling
+        add(builders, wordRepository.streamCatalogForms());
+        add(builders, wordFormRepository.streamCatalogForms());
+
+        Map<String, SortedStringDictionary> pools = new HashMap<>();
+        builders.forEach((pool, builder) -> pools.put(pool, builder.build()));
+        wordSuggestIndex.replace(pools);
+        log.info("Suggest index built in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private void add(Map<String, SortedStringDictionary.Builder> builders, Stream<CatalogForm> rows) {
+        try (rows) {
+            rows.forEach(row -> builders
+                    .computeIfAbsent(WordSuggestIndex.pool(row.language(), row.level().name()), p -> SortedStringDictionary.builder())
+                    .add(WordSuggestIndex.key(row.form()), WordSuggestIndex.value(row.wordId(), row.base())));
+        }
+        entityManager.clear();
+    }
+}
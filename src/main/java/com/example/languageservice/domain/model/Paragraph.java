@@ -2,8 +2,11 @@ package com.example.languageservice.domain.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
+import java.util.List;
 
 @Entity
 @Table(name = "paragraphs")
@@ -21,5 +24,10 @@ public class Paragraph {
     private String topic;   // e.g., Daily Life
     private ParagraphLength length;  // SHORT, MEDIUM, LONG
 
+    // distinct lower-cased words the paragraph contains, GIN-indexed for superset/overlap lookups
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(columnDefinition = "text[]", nullable = false)
+    private List<String> words;
+
     private Instant createdAt = Instant.now();
 }
@@ -12,7 +12,9 @@ import java.util.UUID;
  * Represents a word associated with a user for the Spaced Repetition System.
  */
 @Entity
-@Table(name = "user_words")
+@Table(name = "user_words", uniqueConstraints = {
+        @UniqueConstraint(name = "uq_user_words_user_word", columnNames = {"user_id", "word_id"})
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -2,7 +2,6 @@ package com.example.languageservice.domain.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.springframework.data.annotation.Id;
 
 import java.util.List;
 
@@ -17,8 +16,10 @@ import java.util.List;
 @Builder
 public class Word {
 
+    // pooled sequence instead of IDENTITY so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "words_seq")
+    @SequenceGenerator(name = "words_seq", sequenceName = "words_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
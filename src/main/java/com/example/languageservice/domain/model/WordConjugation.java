@@ -2,7 +2,6 @@ package com.example.languageservice.domain.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.springframework.data.annotation.Id;
 
 @Entity
 @Table(name = "word_conjugations")
@@ -14,7 +13,8 @@ import org.springframework.data.annotation.Id;
 public class WordConjugation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "word_conjugations_seq")
+    @SequenceGenerator(name = "word_conjugations_seq", sequenceName = "word_conjugations_id_seq", allocationSize = 50)
     private Long id;
 
     private String person; // ich, du, er/sie/es...
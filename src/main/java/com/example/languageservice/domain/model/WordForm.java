@@ -2,7 +2,6 @@ package com.example.languageservice.domain.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.springframework.data.annotation.Id;
 
 @Entity
 @Table(name = "word_forms")
@@ -14,7 +13,8 @@ import org.springframework.data.annotation.Id;
 public class WordForm {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "word_forms_seq")
+    @SequenceGenerator(name = "word_forms_seq", sequenceName = "word_forms_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
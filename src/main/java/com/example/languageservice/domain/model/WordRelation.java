@@ -2,7 +2,6 @@ package com.example.languageservice.domain.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.springframework.data.annotation.Id;
 
 @Entity
 @Table(name = "word_relations")
@@ -14,7 +13,8 @@ import org.springframework.data.annotation.Id;
 public class WordRelation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "word_relations_seq")
+    @SequenceGenerator(name = "word_relations_seq", sequenceName = "word_relations_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
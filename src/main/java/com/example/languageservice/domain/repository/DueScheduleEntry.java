@@ -0,0 +1,14 @@
+package com.example.languageservice.domain.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Projection of a user_words row for the Redis due schedule: word id, last review and the box interval.
+ */
+public record DueScheduleEntry(Long wordId, Instant lastSeen, int intervalDays) {
+
+    public Instant nextReview() {
+        return lastSeen.plus(Duration.ofDays(intervalDays));
+    }
+}
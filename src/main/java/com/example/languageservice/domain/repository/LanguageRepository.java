@@ -0,0 +1,15 @@
+package com.example.languageservice.domain.repository;
+
+import com.example.languageservice.domain.model.Language;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LanguageRepository extends JpaRepository<Language, Long> {
+    Optional<Language> findByCode(String code);
+    List<Language> findByCodeIn(Collection<String> codes);
+}
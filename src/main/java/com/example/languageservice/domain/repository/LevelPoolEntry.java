@@ -0,0 +1,8 @@
+package com.example.languageservice.domain.repository;
+
+import com.example.languageservice.domain.model.LanguageLevel;
+
+/**
+ * Projection of a words row for the Redis level pools: id, CEFR level and language code.
+ */
+public record LevelPoolEntry(Long wordId, LanguageLevel level, String language) {}
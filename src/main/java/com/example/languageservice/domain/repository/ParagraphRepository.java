@@ -1,19 +1,84 @@
 package com.example.languageservice.domain.repository;
 
+import com.example.languageservice.domain.index.ParagraphText;
 import com.example.languageservice.domain.model.Paragraph;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface ParagraphRepository extends JpaRepository<Paragraph, Long> {
-    // Full-text search on paragraph content
+    /**
+     * Paragraphs containing every word, best ts_rank first. Uses the stored search_vector and its GIN index.
+     * plainto_tsquery treats the input as plain text, so operators or quotes in a word cannot break the query.
+     * level and length are enum ordinals, null matches any.
+     */
+    @Query(value = """
+            SELECT p.*
+            FROM paragraphs p
+            WHERE p.search_vector @@ plainto_tsquery('simple', :words)
+              AND (CAST(:level AS SMALLINT) IS NULL OR p.level = CAST(:level AS SMALLINT))
+              AND (CAST(:length AS SMALLINT) IS NULL OR p.length = CAST(:length AS SMALLINT))
+            ORDER BY ts_rank(p.search_vector, plainto_tsquery('simple', :words)) DESC, p.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Paragraph> searchByContent(@Param("words") String words,
+                                    @Param("level") Integer level,
+                                    @Param("length") Integer length,
+                                    @Param("limit") int limit);
+
+    /**
+     * Paragraphs whose word array contains every one of {@code words} (lower-cased), newest first.
+     * GIN index scan on paragraphs.words; level and length are enum ordinals, null matches any.
+     */
     @Query(value = """
             SELECT p.*
             FROM paragraphs p
-            WHERE to_tsvector('simple', p.content) @@ to_tsquery(:query)
-            LIMIT 5
+            WHERE p.words @> CAST(:words AS TEXT[])
+              AND (CAST(:level AS SMALLINT) IS NULL OR p.level = CAST(:level AS SMALLINT))
+              AND (CAST(:length AS SMALLINT) IS NULL OR p.length = CAST(:length AS SMALLINT))
+            ORDER BY p.id DESC
+            LIMIT :limit
             """, nativeQuery = true)
-    List<Paragraph> searchByContent(@Param("query") String query);
+    List<Paragraph> findSupersetMatch(@Param("words") String[] words,
+                                      @Param("level") Integer level,
+                                      @Param("length") Integer length,
+                                      @Param("limit") int limit);
+
+    /**
+     * Paragraphs sharing at least {@code minOverlap} of {@code words}, most shared words first. The GIN index
+     * finds the candidates sharing any word; only the first {@code maxScan} of them are counted and ranked, so
+     * a common word does not make the query count and sort every paragraph containing it.
+     */
+    @Query(value = """
+            SELECT p.*
+            FROM (SELECT c.id, (SELECT count(*) FROM unnest(c.words) w WHERE w = ANY(CAST(:words AS TEXT[]))) AS overlap
+                  FROM (SELECT id, words
+                        FROM paragraphs
+                        WHERE words && CAST(:words AS TEXT[])
+                          AND (CAST(:level AS SMALLINT) IS NULL OR level = CAST(:level AS SMALLINT))
+                          AND (CAST(:length AS SMALLINT) IS NULL OR length = CAST(:length AS SMALLINT))
+                        LIMIT :maxScan) c) r
+            JOIN paragraphs p ON p.id = r.id
+            WHERE r.overlap >= :minOverlap
+            ORDER BY r.overlap DESC, p.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Paragraph> findOverlapMatch(@Param("words") String[] words,
+                                     @Param("minOverlap") int minOverlap,
+                                     @Param("level") Integer level,
+                                     @Param("length") Integer length,
+                                     @Param("maxScan") int maxScan,
+                                     @Param("limit") int limit);
+
+    // Streams every paragraph with its filters for the paragraph index
+    @Query("SELECT new com.example.languageservice.domain.index.ParagraphText(p.id, p.level, p.length, p.content, p.words) FROM Paragraph p")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<ParagraphText> streamIndexRows();
 }
@@ -0,0 +1,6 @@
+package com.example.languageservice.domain.repository;
+
+/**
+ * Projection of a word_translations row: source and target word ids only.
+ */
+public record TranslationLink(Long sourceWordId, Long targetWordId) {}
@@ -1,12 +1,14 @@
 package com.example.languageservice.domain.repository;
 
+import com.example.languageservice.domain.model.LanguageLevel;
 import com.example.languageservice.domain.model.UserWord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,16 +23,45 @@ public interface UserWordRepository extends JpaRepository<UserWord, Long> {
     boolean existsByUserIdAndWordId(UUID userId, Long wordId);
 
     List<UserWord> findByUserId(UUID userId);
+    // Source for rebuilding the Redis due schedule of one user
     @Query("""
-        SELECT uw FROM UserWord uw
+        SELECT new com.example.languageservice.domain.repository.DueScheduleEntry(uw.word.id, uw.lastSeen, b.intervalDays)
+        FROM UserWord uw JOIN uw.box b
         WHERE uw.user.id = :userId
-        AND uw.lastSeen + b.intervalDays * 1 DAY <= :now
         """)
-    List<UserWord> findDueWords(@Param("userId") UUID userId,
-                                     @Param("now") LocalDateTime now);
+    List<DueScheduleEntry> findDueScheduleEntries(@Param("userId") UUID userId);
+
+    // Loads the due page picked from the Redis schedule
+    @Query("SELECT uw FROM UserWord uw JOIN FETCH uw.word JOIN FETCH uw.box WHERE uw.user.id = :userId AND uw.word.id IN :wordIds")
+    List<UserWord> findByUserIdAndWordIdIn(@Param("userId") UUID userId, @Param("wordIds") Collection<Long> wordIds);
+
     @Query("SELECT uw FROM UserWord uw WHERE uw.user.id = :userId AND uw.word.id = :wordId")
     Optional<UserWord> findByUserIdAndWordId(UUID userId, Long wordId);
 
     @Query("SELECT uw FROM UserWord uw WHERE uw.user.id = :userId AND uw.box.id = :boxId")
     List<UserWord> findByUserAndBox(@Param("userId") Long userId, @Param("boxId") Long boxId);
+
+    // Bulk assignment: one statement per deck, rows that already exist are skipped by uq_user_words_user_word
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_words (id, user_id, word_id, language_id, level, box_id, last_seen, accuracy, created_at)
+            SELECT uuid_generate_v4(), :userId, w.id, w.language_id, w.level, :boxId, now(), 0, extract(epoch FROM now())
+            FROM words w
+            WHERE w.id = ANY(:wordIds)
+            ON CONFLICT (user_id, word_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertMissingAssignments(@Param("userId") UUID userId,
+                                 @Param("wordIds") Long[] wordIds,
+                                 @Param("boxId") int boxId);
+
+    // Source for rebuilding the Redis assigned-word mirror of one user/level/language
+    @Query("""
+        SELECT uw.word.id FROM UserWord uw
+        WHERE uw.user.id = :userId
+          AND uw.word.level = :level
+          AND uw.word.language.code = :language
+        """)
+    List<Long> findAssignedWordIds(@Param("userId") UUID userId,
+                                   @Param("level") LanguageLevel level,
+                                   @Param("language") String language);
 }
@@ -1,14 +1,32 @@
 package com.example.languageservice.domain.repository;
 
+import com.example.languageservice.domain.index.SurfaceForm;
 import com.example.languageservice.domain.model.WordConjugation;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface WordConjugationRepository extends JpaRepository<WordConjugation, Long> {
     List<WordConjugation> findByWordId(Long wordId);
+    List<WordConjugation> findByWordIdIn(Collection<Long> wordIds);
     Optional<WordConjugation> findByForm(String form);
+
+    @Query("SELECT c.form FROM WordConjugation c WHERE c.form IN :forms")
+    List<String> findExistingForms(@Param("forms") Collection<String> forms);
+
+    // Streams every surface form for the in-memory inflection index
+    @Query("SELECT new com.example.languageservice.domain.index.SurfaceForm(c.form, c.word.id) FROM WordConjugation c")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    Stream<SurfaceForm> streamSurfaceForms();
 }
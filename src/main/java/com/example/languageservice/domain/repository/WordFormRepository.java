@@ -1,14 +1,41 @@
 package com.example.languageservice.domain.repository;
 
+import com.example.languageservice.domain.index.CatalogForm;
+import com.example.languageservice.domain.index.SurfaceForm;
 import com.example.languageservice.domain.model.WordForm;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface WordFormRepository extends JpaRepository<WordForm, Long> {
     List<WordForm> findByWordId(Long wordId);
+    List<WordForm> findByWordIdIn(Collection<Long> wordIds);
     Optional<WordForm> findByForm(String form);
+
+    @Query("SELECT f.form FROM WordForm f WHERE f.form IN :forms")
+    List<String> findExistingForms(@Param("forms") Collection<String> forms);
+
+    // Streams every surface form for the in-memory inflection index
+    @Query("SELECT new com.example.languageservice.domain.index.SurfaceForm(f.form, f.word.id) FROM WordForm f")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    Stream<SurfaceForm> streamSurfaceForms();
+
+    // Streams every form with the language and level of its word for the suggest index
+    @Query("""
+            SELECT new com.example.languageservice.domain.index.CatalogForm(f.form, w.id, w.language.code, w.level, false)
+            FROM WordForm f JOIN f.word w
+            """)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    Stream<CatalogForm> streamCatalogForms();
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,4 +18,8 @@ public interface WordRelationRepository extends JpaRepository<WordRelation, Long
 
     @Query("SELECT r.relatedWord FROM WordRelation r WHERE r.word.id = :wordId AND r.relationType = 'ANTONYM'")
     List<Word> findAntonyms(Long wordId);
+
+    // Synonyms and antonyms for a whole batch of words, related word fetched in the same query
+    @Query("SELECT r FROM WordRelation r JOIN FETCH r.relatedWord WHERE r.word.id IN :wordIds")
+    List<WordRelation> findByWordIdIn(@Param("wordIds") Collection<Long> wordIds);
 }
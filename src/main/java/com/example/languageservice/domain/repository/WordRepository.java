@@ -0,0 +1,74 @@
+package com.example.languageservice.domain.repository;
+
+import com.example.languageservice.domain.index.CatalogForm;
+import com.example.languageservice.domain.index.SurfaceForm;
+import com.example.languageservice.domain.model.Language;
+import com.example.languageservice.domain.model.Word;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+@Repository
+public interface WordRepository extends JpaRepository<Word, Long> {
+
+    Optional<Word> findByWord(String word);
+
+    Optional<Word> findByWordAndLanguage(String word, Language language);
+
+    // Batch hydration: loads the words together with their language in one round trip
+    @Query("SELECT w FROM Word w JOIN FETCH w.language WHERE w.id IN :ids")
+    List<Word> findAllWithLanguageByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Ingestion dedup: every candidate word of a batch in one query, filtered per language by the caller
+    @Query("SELECT w FROM Word w JOIN FETCH w.language l WHERE w.word IN :words AND l.code IN :languageCodes")
+    List<Word> findByWordInAndLanguageCodeIn(@Param("words") Collection<String> words,
+                                             @Param("languageCodes") Collection<String> languageCodes);
+
+    // words.level is stored as the LanguageLevel ordinal
+    @Query(value = """
+            SELECT w.id
+            FROM words w
+            JOIN languages l ON l.id = w.language_id
+            WHERE w.level = array_position(ARRAY['A1','A2','B1','B2','C1','C2'], :level) - 1
+              AND l.code = :language
+              AND NOT EXISTS (
+                  SELECT 1 FROM user_words uw
+                  WHERE uw.user_id = :userId AND uw.word_id = w.id
+              )
+            ORDER BY random()
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findRandomUnassignedWords(@Param("userId") UUID userId,
+                                         @Param("level") String level,
+                                         @Param("language") String language,
+                                         @Param("limit") int limit);
+
+    // Streams every base word for the in-memory inflection index
+    @Query("SELECT new com.example.languageservice.domain.index.SurfaceForm(w.word, w.id) FROM Word w")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    Stream<SurfaceForm> streamSurfaceForms();
+
+    // Streams every base word with language and level for the suggest index
+    @Query("SELECT new com.example.languageservice.domain.index.CatalogForm(w.word, w.id, w.language.code, w.level, true) FROM Word w")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    Stream<CatalogForm> streamCatalogForms();
+
+    // Streams (id, level, language) of every word for the Redis level pool warm-up
+    @Query("""
+            SELECT new com.example.languageservice.domain.repository.LevelPoolEntry(w.id, w.level, w.language.code)
+            FROM Word w
+            """)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    Stream<LevelPoolEntry> streamLevelPoolEntries();
+}
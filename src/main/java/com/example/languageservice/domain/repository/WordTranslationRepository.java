@@ -4,7 +4,10 @@ import com.example.languageservice.domain.model.Word;
 import com.example.languageservice.domain.model.WordTranslation;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface WordTranslationRepository extends JpaRepository<WordTranslation, Long> {
@@ -17,4 +20,16 @@ public interface WordTranslationRepository extends JpaRepository<WordTranslation
       AND wt.targetLanguage.code = :targetLang
 """)
     Optional<Word> findTranslation(Long sourceWordId, String sourceLang, String targetLang);
+
+    // Batch translation: existing links for many source words in one query
+    @Query("""
+    SELECT new com.example.languageservice.domain.repository.TranslationLink(wt.sourceWord.id, wt.targetWord.id)
+    FROM WordTranslation wt
+    WHERE wt.sourceWord.id IN :sourceWordIds
+      AND wt.sourceLanguage.code = :sourceLang
+      AND wt.targetLanguage.code = :targetLang
+""")
+    List<TranslationLink> findLinks(@Param("sourceWordIds") Collection<Long> sourceWordIds,
+                                    @Param("sourceLang") String sourceLang,
+                                    @Param("targetLang") String targetLang);
 }
@@ -0,0 +1,50 @@
+package com.example.languageservice.domain.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One-off migration of the per-user assigned-word sets to bitmaps.
+ * Enable together with redis.assigned-encoding=BITMAP; until a key is migrated, reads check both encodings,
+ * so the migration can run while traffic is served. Each key is converted atomically by a script.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "redis.assigned-migration.enabled", havingValue = "true")
+public class AssignedWordsMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(AssignedWordsMigration.class);
+
+    private final RedisService redisService;
+
+    @Async("threadPoolTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (redisService.getAssignedEncoding() != RedisService.AssignedEncoding.BITMAP) {
+            log.warn("Assigned-word migration skipped: redis.assigned-encoding is not BITMAP");
+            return;
+        }
+        AtomicLong keys = new AtomicLong();
+        AtomicLong ids = new AtomicLong();
+        log.info("Migrating assigned-word sets to bitmaps");
+        redisService.scanUserAssignedSetKeys(key -> {
+            try {
+                ids.addAndGet(redisService.migrateUserAssignedToBitmap(key));
+                if (keys.incrementAndGet() % 10_000 == 0) {
+                    log.info("Assigned-word migration progress: {} keys, {} ids", keys.get(), ids.get());
+                }
+            } catch (Exception e) {
+                log.warn("Failed to migrate {}", key, e);
+            }
+        });
+        log.info("Assigned-word migration finished: {} keys, {} ids", keys.get(), ids.get());
+    }
+}
@@ -5,16 +5,24 @@ import com.example.languageservice.domain.model.BoxType;
 import com.example.languageservice.domain.model.UserWord;
 import com.example.languageservice.domain.model.Word;
 import com.example.languageservice.domain.repository.BoxRepository;
-import com.example.languageservice.domain.repository.UserWordRepository;
+import com.example.languageservice.domain.repository.DueScheduleEntry;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +32,9 @@ public class BoxService {
     private final WordService wordService;
     private final RedisService redisService;
 
+    @Value("${review.due-limit:100}")
+    private int dueLimit = 100;
+
     // Promote to next box
     @Transactional
     public void promoteWordToNewBox(UserWord userWord) {
@@ -31,7 +42,7 @@ public class BoxService {
         Box nextBox = boxRepository.findByType(nextType).orElseThrow();
         wordService.updateUserWordBox(userWord, nextBox);
 
-        redisService.invalidateDueWords(userWord.getUser().getId());
+        scheduleAfterCommit(userWord.getUser().getId(), userWord.getWord().getId(), nextBox);
     }
 
     // Reset to UNKNOWN_1DAY
@@ -40,7 +51,7 @@ public class BoxService {
         Box resetBox = boxRepository.findByType(BoxType.UNKNOWN_1DAY).orElseThrow();
         wordService.updateUserWordBox(userWord, resetBox);
 
-        redisService.invalidateDueWords(userWord.getUser().getId());
+        scheduleAfterCommit(userWord.getUser().getId(), userWord.getWord().getId(), resetBox);
     }
 
     // Assign brand new word to INIT box
@@ -49,7 +60,7 @@ public class BoxService {
         Box initBox = boxRepository.findByType(BoxType.INIT).orElseThrow();
         wordService.createUserWord(user, word, initBox);
 
-        redisService.invalidateDueWords(user.getId());
+        scheduleAfterCommit(user.getId(), word.getId(), initBox);
     }
 
     @Transactional(readOnly = true)
@@ -57,16 +68,50 @@ public class BoxService {
         return boxRepository.findByType(type).orElseThrow();
     }
 
-    // Fetch due words with Redis cache
-    public List<UserWord> getDueWords(Long userId) {
-        List<UserWord> cached = redisService.getCachedDueWords(userId);
-        if (cached != null) return cached;
+    /**
+     * Up to {@code review.due-limit} due words, most overdue first. The ids come from the Redis schedule
+     * (ZRANGEBYSCORE); Postgres only loads that page. The schedule is rebuilt from the DB when Redis has
+     * never seen this user or was flushed, and ranked from the DB while Redis is unavailable.
+     */
+    public List<UserWord> getDueWords(UUID userId) {
+        Instant now = Instant.now();
+        List<DueScheduleEntry> entries = null;
+        if (!redisService.isDueScheduleLoaded(userId)) {
+            entries = wordService.findDueScheduleEntries(userId);
+            redisService.replaceDueScheduleFromDb(userId, entries.stream()
+                    .collect(Collectors.toMap(DueScheduleEntry::wordId, DueScheduleEntry::nextReview, (a, b) -> a)));
+        }
+        List<Long> dueIds = redisService.getDueWordIds(userId, now, dueLimit);
+        if (dueIds == null) {
+            // Redis unavailable: rank the same way from the DB rows
+            if (entries == null) entries = wordService.findDueScheduleEntries(userId);
+            dueIds = entries.stream()
+                    .filter(e -> !e.nextReview().isAfter(now))
+                    .sorted(Comparator.comparing(DueScheduleEntry::nextReview))
+                    .limit(dueLimit)
+                    .map(DueScheduleEntry::wordId)
+                    .toList();
+        }
+        if (dueIds.isEmpty()) return List.of();
+
+        Map<Long, UserWord> byWordId = wordService.findUserWords(userId, dueIds).stream()
+                .collect(Collectors.toMap(uw -> uw.getWord().getId(), Function.identity()));
+        return dueIds.stream().map(byWordId::get).filter(Objects::nonNull).toList();
+    }
 
-        List<UserWord> dueWords = wordService.findDueWords(userId, LocalDateTime.now());
-        if (!dueWords.isEmpty()) {
-            redisService.cacheDueWords(userId, dueWords);
+    // Re-scores the word once the box change is committed, so a rollback never leaves a wrong due time behind
+    private void scheduleAfterCommit(UUID userId, Long wordId, Box box) {
+        Instant nextReview = Instant.now().plus(Duration.ofDays(box.getIntervalDays()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    redisService.scheduleReview(userId, wordId, nextReview);
+                }
+            });
+        } else {
+            redisService.scheduleReview(userId, wordId, nextReview);
         }
-        return dueWords;
     }
 
     @PostConstruct
@@ -0,0 +1,122 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.domain.repository.LevelPoolEntry;
+import com.example.languageservice.domain.repository.WordRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Loads every word id into its Redis level pool (level:&lt;level&gt;:&lt;language&gt;:wordIds) after startup, so
+ * an emptied Redis does not push every random-word request to the DB. Words are streamed with a cursor and
+ * written in chunks of pipelined SADDs. Runs off the startup thread and never affects readiness; progress
+ * shows up as the "levelPoolWarmup" component of /actuator/health and as level.pools.warmup.words.
+ * Per-user assigned mirrors are not touched here, they are rebuilt on first use (see WordService.getRandomWords).
+ */
+@Component
+@ConditionalOnProperty(name = "level-pools.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class LevelPoolWarmup implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(LevelPoolWarmup.class);
+    private static final String LEASE = "levelPoolWarmup";
+
+    enum State { PENDING, RUNNING, SKIPPED, DONE, FAILED }
+
+    private final WordRepository wordRepository;
+    private final RedisService redisService;
+    private final int chunkSize;
+    private final Duration lease;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final AtomicLong words = new AtomicLong();
+    private volatile State state = State.PENDING;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public LevelPoolWarmup(WordRepository wordRepository,
+                           RedisService redisService,
+                           MeterRegistry meterRegistry,
+                           @Value("${level-pools.warm-up.chunk-size:5000}") int chunkSize,
+                           @Value("${level-pools.warm-up.lease:10m}") Duration lease) {
+        this.wordRepository = wordRepository;
+        this.redisService = redisService;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+
+        Gauge.builder("level.pools.warmup.words", words, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Async("threadPoolTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        // one node is enough, the others would only repeat idempotent SADDs
+        if (!redisService.tryAcquireLease(LEASE, nodeId, lease)) {
+            state = State.SKIPPED;
+            log.info("Level pool warm-up skipped: running on another node");
+            return;
+        }
+        state = State.RUNNING;
+        startedAt = Instant.now();
+        try (Stream<LevelPoolEntry> rows = wordRepository.streamLevelPoolEntries()) {
+            Map<RedisService.LevelPool, List<Long>> chunk = new HashMap<>();
+            int[] buffered = {0};
+            rows.forEach(row -> {
+                chunk.computeIfAbsent(new RedisService.LevelPool(row.level().name(), row.language()), p -> new ArrayList<>())
+                        .add(row.wordId());
+                if (++buffered[0] == chunkSize) {
+                    flush(chunk, buffered[0]);
+                    buffered[0] = 0;
+                }
+            });
+            flush(chunk, buffered[0]);
+            state = State.DONE;
+            log.info("Level pool warm-up finished: {} words in {} ms", words.get(),
+                    Duration.between(startedAt, Instant.now()).toMillis());
+        } catch (Exception e) {
+            state = State.FAILED;
+            error = e.getMessage();
+            log.warn("Level pool warm-up failed after {} words", words.get(), e);
+        } finally {
+            finishedAt = Instant.now();
+            redisService.releaseLease(LEASE, nodeId);
+        }
+    }
+
+    private void flush(Map<RedisService.LevelPool, List<Long>> chunk, int size) {
+        if (size == 0) return;
+        redisService.addLevelWordIds(chunk);
+        chunk.clear();
+        long total = words.addAndGet(size);
+        if (total % (chunkSize * 20L) < size) log.info("Level pool warm-up progress: {} words", total);
+    }
+
+    // Informational only: always UP so the warm-up can never hold back traffic
+    @Override
+    public Health health() {
+        Health.Builder health = Health.up()
+                .withDetail("state", state)
+                .withDetail("words", words.get());
+        if (startedAt != null) health.withDetail("startedAt", startedAt);
+        if (finishedAt != null) health.withDetail("finishedAt", finishedAt);
+        if (error != null) health.withDetail("error", error);
+        return health.build();
+    }
+}
@@ -1,32 +1,130 @@
 package com.example.languageservice.domain.service;
 
 import com.example.languageservice.api.dto.ParagraphResponse;
+import com.example.languageservice.api.dto.WordDto;
 import com.example.languageservice.config.AiModelSettings;
 import com.example.languageservice.domain.model.AiPromptPayload;
+import com.example.languageservice.domain.utils.PromptBuilder;
+import com.example.languageservice.domain.utils.StreamedParagraph;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+@Service
 public class LlmService {
+    private static final Logger log = LoggerFactory.getLogger(LlmService.class);
+
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final AiModelSettings aiModelSettings;
+    private final Duration streamTimeout;
 
-    public LlmService(ObjectMapper objectMapper, AiModelSettings aiModelSettings) {
+    public LlmService(ObjectMapper objectMapper, AiModelSettings aiModelSettings,
+                      @Value("${paragraph.stream.timeout:120s}") Duration streamTimeout) {
         this.aiModelSettings = aiModelSettings;
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .build();
         this.objectMapper = objectMapper;
+        this.streamTimeout = streamTimeout;
     }
 
     public ParagraphResponse generateContent(AiPromptPayload payload) throws IOException, InterruptedException {
+        // Ensure only JSON is returned → map directly
+        return objectMapper.readValue(complete(payload), ParagraphResponse.class);
+    }
+
+    /**
+     * Streaming variant of {@link #generateContent} for a {@link PromptBuilder#buildStreamingParagraphPrompt}
+     * payload. Reads the chat-completions event stream line by line and passes the paragraph text to
+     * {@code onText} as it arrives; usedWords and translation are parsed from the metadata once the stream ends.
+     * The 60s request timeout only bounds the wait for the response headers; the whole stream must end within
+     * paragraph.stream.timeout, otherwise it is cancelled with an {@link HttpTimeoutException}. Metadata that
+     * does not parse is dropped: the text has already reached the user and is kept with empty usedWords.
+     */
+    public ParagraphResponse streamContent(AiPromptPayload payload, Consumer<String> onText) throws IOException, InterruptedException {
+        ObjectNode body = objectMapper.valueToTree(payload);
+        body.put("stream", true);
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(aiModelSettings.getBaseUrl() + "/chat/completions"))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .header("Accept", "text/event-stream")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+
+        long deadline = System.nanoTime() + streamTimeout.toNanos();
+        EventLines lines = new EventLines();
+        httpClient.sendAsync(request, info -> {
+            lines.status = info.statusCode();
+            return HttpResponse.BodySubscribers.fromLineSubscriber(lines);
+        }).whenComplete((response, e) -> {
+            // e.g. no headers within the request timeout: the body subscriber never hears about it
+            if (e != null) lines.onError(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+        });
+
+        StreamedParagraph paragraph = new StreamedParagraph(PromptBuilder.STREAM_METADATA_MARKER, onText);
+        try {
+            String line = lines.next(deadline);
+            if (lines.status != 200) {
+                List<String> error = new ArrayList<>();
+                for (; line != null; line = lines.next(deadline)) error.add(line);
+                throw new RuntimeException("LLM API call failed: " + String.join("\n", error));
+            }
+            for (; line != null; line = lines.next(deadline)) {
+                // SSE: "data: <chunk>" lines, blank separators, ": keep-alive" comments
+                if (!line.startsWith("data:")) continue;
+                String data = line.substring("data:".length()).strip();
+                if (data.equals("[DONE]")) break;
+                JsonNode choice = objectMapper.readTree(data).path("choices").path(0);
+                paragraph.accept(choice.path("delta").path("content").asText(""));
+            }
+        } finally {
+            // closes the connection when the stream is abandoned before its end
+            lines.cancel();
+        }
+        paragraph.finish();
+
+        ParagraphResponse result = parseMetadata(paragraph.metadata());
+        result.setText(paragraph.text());
+        if (result.getUsedWords() == null) result.setUsedWords(List.of());
+        return result;
+    }
+
+    private ParagraphResponse parseMetadata(String metadata) {
+        if (metadata == null) return new ParagraphResponse();
+        try {
+            return objectMapper.readValue(metadata, ParagraphResponse.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed paragraph metadata from the LLM: {}", e.getOriginalMessage());
+            return new ParagraphResponse();
+        }
+    }
+
+    private String complete(AiPromptPayload payload) throws IOException, InterruptedException {
         String body = objectMapper.writeValueAsString(payload);
 
         HttpRequest request = HttpRequest.newBuilder()
@@ -43,9 +141,82 @@ public class LlmService {
         }
 
         JsonNode root = objectMapper.readTree(response.body());
-        String content = root.path("choices").get(0).path("message").path("content").asText();
+        return root.path("choices").get(0).path("message").path("content").asText();
+    }
 
-        // Ensure only JSON is returned → map directly
-        return objectMapper.readValue(content, ParagraphResponse.class);
+    // Batch word generation for the background pool refill; the model answers with a JSON array of words
+    public List<WordDto> generateWords(String level, String language, int count) throws IOException, InterruptedException {
+        String content = complete(PromptBuilder.buildWordsPrompt(level, language, count));
+        return List.of(objectMapper.readValue(content, WordDto[].class));
+    }
+
+    public WordDto generateTranslatedWord(String word, String sourceLanguage, String targetLanguage)
+            throws IOException, InterruptedException {
+        String content = complete(PromptBuilder.buildTranslationPrompt(word, sourceLanguage, targetLanguage));
+        WordDto translated = objectMapper.readValue(content, WordDto.class);
+        translated.setLanguage(targetLanguage);
+        return translated;
+    }
+
+    // One call for a whole batch of misses; the answer must line up with the input words
+    public List<WordDto> generateTranslatedWords(List<String> words, String sourceLanguage, String targetLanguage)
+            throws IOException, InterruptedException {
+        String content = complete(PromptBuilder.buildTranslationsPrompt(words, sourceLanguage, targetLanguage));
+        WordDto[] translated = objectMapper.readValue(content, WordDto[].class);
+        if (translated.length != words.size()) {
+            throw new IOException("LLM returned " + translated.length + " translations for " + words.size() + " words");
+        }
+        for (WordDto dto : translated) dto.setLanguage(targetLanguage);
+        return List.of(translated);
+    }
+
+    /**
+     * Response body lines pushed by the HTTP client, taken by the caller with a deadline. A blocking read on
+     * the body stream could not be interrupted when the model stalls mid-stream.
+     */
+    private static final class EventLines implements Flow.Subscriber<String> {
+        // Optional.empty() marks the end of the body
+        private final BlockingQueue<Optional<String>> lines = new LinkedBlockingQueue<>();
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+        volatile int status;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            lines.add(Optional.of(line));
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            lines.add(Optional.empty());
+        }
+
+        @Override
+        public void onComplete() {
+            lines.add(Optional.empty());
+        }
+
+        /** The next line, or null at the end of the body. */
+        String next(long deadlineNanos) throws IOException, InterruptedException {
+            Optional<String> line = lines.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (line == null) throw new HttpTimeoutException("LLM stream did not finish in time");
+            if (line.isPresent()) return line.get();
+            // keep the end marker for repeated calls
+            lines.add(line);
+            if (error != null) throw new IOException("LLM stream failed", error);
+            return null;
+        }
+
+        void cancel() {
+            Flow.Subscription current = subscription;
+            if (current != null) current.cancel();
+        }
     }
 }
@@ -0,0 +1,133 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.ParagraphResponse;
+import com.example.languageservice.domain.model.Paragraph;
+import com.example.languageservice.domain.utils.PromptBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps {@code target-size} ready paragraphs for each popular (level, length, topic) so requests without a
+ * vocabulary constraint are served from the buffer instead of waiting on the LLM. Popularity is learned from
+ * requests: ParagraphService records each one in hourly Redis buckets, and the most demanded combinations of
+ * the decayed window are topped up. Buffered paragraphs are stored and indexed when generated, so they are
+ * also reusable by the word lookups. A lease per combination keeps nodes from generating for the same one,
+ * and a Redis rate limit caps LLM calls across all nodes.
+ */
+@Service
+@ConditionalOnProperty(name = "paragraph-buffer.enabled", havingValue = "true", matchIfMissing = true)
+public class ParagraphBufferService {
+
+    private static final Logger log = LoggerFactory.getLogger(ParagraphBufferService.class);
+    private static final String RATE_NAME = "paragraphBuffer";
+
+    private final RedisService redisService;
+    private final LlmService llmService;
+    private final ParagraphService paragraphService;
+    private final MeterRegistry meterRegistry;
+    private final int targetSize;
+    private final int maxCombinations;
+    private final double minDemand;
+    private final Duration demandWindow;
+    private final Duration demandHalfLife;
+    private final long maxPerMinute;
+    private final Duration lease;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public ParagraphBufferService(RedisService redisService,
+                                  LlmService llmService,
+                                  ParagraphService paragraphService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${paragraph-buffer.target-size:5}") int targetSize,
+                                  @Value("${paragraph-buffer.max-combinations:20}") int maxCombinations,
+                                  @Value("${paragraph-buffer.min-demand:3}") double minDemand,
+                                  @Value("${paragraph-buffer.demand-window:24h}") Duration demandWindow,
+                                  @Value("${paragraph-buffer.demand-half-life:6h}") Duration demandHalfLife,
+                                  @Value("${paragraph-buffer.max-per-minute:10}") long maxPerMinute,
+                                  @Value("${paragraph-buffer.lease:5m}") Duration lease) {
+        this.redisService = redisService;
+        this.llmService = llmService;
+        this.paragraphService = paragraphService;
+        this.meterRegistry = meterRegistry;
+        this.targetSize = targetSize;
+        this.maxCombinations = maxCombinations;
+        this.minDemand = minDemand;
+        this.demandWindow = demandWindow;
+        this.demandHalfLife = demandHalfLife;
+        this.maxPerMinute = maxPerMinute;
+        this.lease = lease;
+    }
+
+    @Scheduled(fixedDelayString = "${paragraph-buffer.check-interval:30s}", initialDelayString = "${paragraph-buffer.check-interval:30s}")
+    public void refillBuffers() {
+        // sizes would read as 0 and nothing can be buffered anyway
+        if (!redisService.isAvailable()) return;
+        List<String> popular = redisService.topParagraphDemand(demandWindow, demandHalfLife, minDemand, maxCombinations);
+
+        // most demanded first, so a tight rate limit goes to the combinations that matter most
+        for (String key : popular) {
+            ParagraphCombination combination = ParagraphCombination.parse(key);
+            if (combination == null) {
+                log.warn("Ignoring malformed paragraph combination '{}'", key);
+                continue;
+            }
+            try {
+                if (!refill(combination)) return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Refill of paragraph buffer {} failed", key, e);
+                counter("paragraph.buffer.refill.failures", combination).increment();
+            }
+        }
+    }
+
+    // false once the shared rate limit is used up for this window
+    private boolean refill(ParagraphCombination combination) throws Exception {
+        String key = combination.key();
+        if (redisService.bufferedParagraphCount(key) >= targetSize) return true;
+        String leaseName = "paragraphBuffer:" + key;
+        if (!redisService.tryAcquireLease(leaseName, nodeId, lease)) {
+            log.debug("Paragraph buffer {} is being refilled by another node", key);
+            return true;
+        }
+        try {
+            int generated = 0;
+            // re-read under the lease: another node may have filled it in between
+            for (long missing = targetSize - redisService.bufferedParagraphCount(key); missing > 0; missing--) {
+                if (!redisService.tryConsumeRate(RATE_NAME, maxPerMinute, Duration.ofMinutes(1))) {
+                    counter("paragraph.buffer.rate.limited", combination).increment();
+                    return false;
+                }
+                ParagraphResponse response = llmService.generateContent(PromptBuilder.buildParagraphPrompt(combination.toRequest()));
+                Paragraph paragraph = paragraphService.storeGenerated(combination.toRequest(), response);
+                redisService.pushBufferedParagraph(key, paragraph.getId());
+                counter("paragraph.buffer.refilled", combination).increment();
+                generated++;
+            }
+            if (generated > 0) log.info("Refilled paragraph buffer {} with {} paragraphs", key, generated);
+            return true;
+        } finally {
+            redisService.releaseLease(leaseName, nodeId);
+        }
+    }
+
+    // topic is left out of the tags: it is free text
+    private Counter counter(String name, ParagraphCombination combination) {
+        return Counter.builder(name)
+                .tag("level", combination.level().name())
+                .tag("length", combination.length().name())
+                .register(meterRegistry);
+    }
+}
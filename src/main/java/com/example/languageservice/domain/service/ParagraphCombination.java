@@ -0,0 +1,55 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.ParagraphRequest;
+import com.example.languageservice.domain.model.LanguageLevel;
+import com.example.languageservice.domain.model.ParagraphLength;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * (level, length, topic) a paragraph buffer is kept for. The topic is normalized (trimmed, lower-cased, at most
+ * {@link #MAX_TOPIC} characters) so "Daily Life" and "daily life " share a buffer; an empty topic means "any".
+ * {@link #key()} is the Redis form, {@code LEVEL:LENGTH:topic}.
+ */
+public record ParagraphCombination(LanguageLevel level, ParagraphLength length, String topic) {
+
+    static final int MAX_TOPIC = 64;
+
+    /** Null when the request does not name both a level and a length. */
+    public static ParagraphCombination of(ParagraphRequest request) {
+        if (request.getLanguageLevel() == null || request.getLength() == null) return null;
+        return new ParagraphCombination(request.getLanguageLevel(), request.getLength(), normalizeTopic(request.getTopic()));
+    }
+
+    /** Null for keys that are not in the {@code LEVEL:LENGTH:topic} form. */
+    public static ParagraphCombination parse(String key) {
+        String[] parts = key.split(":", 3);
+        if (parts.length != 3) return null;
+        try {
+            return new ParagraphCombination(LanguageLevel.valueOf(parts[0]), ParagraphLength.valueOf(parts[1]), parts[2]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public String key() {
+        return level + ":" + length + ":" + topic;
+    }
+
+    /** The request the producer generates for: no vocabulary, no translation. */
+    public ParagraphRequest toRequest() {
+        ParagraphRequest request = new ParagraphRequest();
+        request.setLanguageLevel(level);
+        request.setLength(length);
+        request.setTopic(topic.isEmpty() ? null : topic);
+        request.setSelectedWords(List.of());
+        return request;
+    }
+
+    static String normalizeTopic(String topic) {
+        if (topic == null) return "";
+        String normalized = topic.strip().toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_TOPIC ? normalized.substring(0, MAX_TOPIC) : normalized;
+    }
+}
@@ -2,22 +2,31 @@ package com.example.languageservice.domain.service;
 
 import com.example.languageservice.api.dto.ParagraphRequest;
 import com.example.languageservice.api.dto.ParagraphResponse;
+import com.example.languageservice.domain.index.ParagraphIndex;
 import com.example.languageservice.domain.model.AiPromptPayload;
 import com.example.languageservice.domain.model.Paragraph;
 import com.example.languageservice.domain.model.UserParagraph;
 import com.example.languageservice.domain.repository.ParagraphRepository;
 import com.example.languageservice.domain.repository.UserParagraphRepository;
 import com.example.languageservice.domain.utils.PromptBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static com.example.languageservice.security.SecurityUtils.getCurrentUserId;
 
 //currently data is mocked ->  should be integrated with an actual LLM (Gemma 2b) to generate paragraphs based on the request.
-//based on response from gemma 2b, buffer mechanism might be needed.
+//based on response from gemma 2b, buffer mechanism might be needed. -> ParagraphBufferService keeps popular level/length/topic combinations pre-generated.
 //remove validation from service and do it in controller.
 //if user vocabulary is to be included, it should be selecting %20 of the words from user vocabulary randomly and included into LLM prompt. Rest comes from LLM response.
 //we should also check this based on selected difficulty level and paragraph length requested by user. %20 should be defined accordingly and if users have less words, we should take all of them.
@@ -29,67 +38,236 @@ import static com.example.languageservice.security.SecurityUtils.getCurrentUserI
 @Service
 public class ParagraphService {
 
+    private static final int REDIS_CANDIDATES = 1;
+    private static final int OVERLAP_CANDIDATES = 1;
+    private static final int SUPERSET_CANDIDATES = 1;
+    private static final int FULLTEXT_CANDIDATES = 5;
+    private static final int BUFFER_ATTEMPTS = 3;
+
     private final ParagraphRepository paragraphRepository;
     private final UserParagraphRepository userParagraphRepository;
     private final RedisService redisService;
     private final LlmService llmService;
+    private final ParagraphIndex paragraphIndex;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    // share of the requested words a stored paragraph must contain to be reused instead of calling the LLM
+    @Value("${paragraph.reuse.min-coverage:0.8}")
+    private double reuseMinCoverage = 0.8;
+
+    @Value("${paragraph.reuse.top-k:5}")
+    private int reuseTopK = 5;
+
+    // upper bound on overlap candidates the DB counts and ranks in one lookup
+    @Value("${paragraph.reuse.overlap-max-scan:1000}")
+    private int overlapMaxScan = 1000;
+
+    // how long a request counts towards a combination's popularity (see ParagraphBufferService)
+    @Value("${paragraph-buffer.demand-window:24h}")
+    private Duration bufferDemandWindow = Duration.ofHours(24);
 
     public ParagraphService(ParagraphRepository paragraphRepository,
                             UserParagraphRepository userParagraphRepository,
                             RedisService redisService,
-                            LlmService llmService) {
+                            LlmService llmService,
+                            ParagraphIndex paragraphIndex,
+                            MeterRegistry meterRegistry,
+                            TransactionTemplate transactionTemplate) {
         this.paragraphRepository = paragraphRepository;
         this.userParagraphRepository = userParagraphRepository;
         this.redisService = redisService;
         this.llmService = llmService;
+        this.paragraphIndex = paragraphIndex;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = transactionTemplate;
     }
 // where the includeUserWords is used?
     @Transactional
     public ParagraphResponse generateParagraph(ParagraphRequest request) throws IOException, InterruptedException {
         UUID userId = getCurrentUserId();
-        Set<String> words = new HashSet<>(request.getSelectedWords());
-
-        // 1. Redis superset lookup
-        Set<String> paraIds = redisService.intersectWords(words);
-        if (paraIds != null && !paraIds.isEmpty()) {
-            Long paraId = Long.valueOf(paraIds.iterator().next().replace("para:", ""));
-            ParagraphResponse cached = redisService.getParagraph(paraId);
-            if (cached != null) {
-                return linkUser(userId, paraId, cached, request.getSelectedWords());
-            }
+        Optional<ParagraphResponse> stored = findStored(userId, request);
+        if (stored.isPresent()) return stored.get();
+
+        // 6. LLM fallback
+        served("llm");
+        AiPromptPayload paragraphPayload = PromptBuilder.buildParagraphPrompt(request);
+        ParagraphResponse llmResponse = llmService.generateContent(paragraphPayload);
+        return saveGenerated(userId, request, llmResponse);
+    }
+
+    /**
+     * Streaming variant of {@link #generateParagraph}: {@code onText} receives the paragraph text as the model
+     * produces it (a stored paragraph arrives as one piece), and the returned response is the persisted result
+     * with usedWords and translation. Runs without a surrounding transaction, so no DB connection is held while
+     * the model streams; the lookup and the save each get their own.
+     */
+    public ParagraphResponse streamParagraph(UUID userId, ParagraphRequest request, Consumer<String> onText)
+            throws IOException, InterruptedException {
+        Optional<ParagraphResponse> stored = transactionTemplate.execute(status -> findStored(userId, request));
+        if (stored.isPresent()) {
+            onText.accept(stored.get().getText());
+            return stored.get();
         }
 
-        // 2. Postgres superset search (on user_paragraphs)
-        List<Paragraph> supersetMatches = userParagraphRepository.findSupersetMatch(words.toArray(new String[0]));
+        served("llm");
+        AiPromptPayload paragraphPayload = PromptBuilder.buildStreamingParagraphPrompt(request);
+        ParagraphResponse llmResponse = llmService.streamContent(paragraphPayload, onText);
+        return transactionTemplate.execute(status -> saveGenerated(userId, request, llmResponse));
+    }
+
+    // tiers 1-5: reuse a stored or pre-generated paragraph and link it to the user
+    private Optional<ParagraphResponse> findStored(UUID userId, ParagraphRequest request) {
+        Set<String> words = request.getSelectedWords() != null ? new HashSet<>(request.getSelectedWords()) : Set.of();
+        Optional<ParagraphResponse> matched = words.isEmpty() ? Optional.empty() : findByWords(userId, request, words);
+        if (matched.isPresent()) return matched;
+
+        // 5. Pre-generated buffer for this level, length and topic; only when the prompt would not have
+        //    carried the user's words or asked for a translation, since buffered paragraphs have neither
+        ParagraphCombination combination = ParagraphCombination.of(request);
+        boolean constrained = request.isIncludeUserWords() && !words.isEmpty();
+        if (combination == null || constrained || request.getTranslationLanguage() != null) return Optional.empty();
+        redisService.recordParagraphDemand(combination.key(), bufferDemandWindow);
+        return takeBuffered(userId, request, combination);
+    }
+
+    // tiers 1-4: stored paragraphs containing the requested words
+    private Optional<ParagraphResponse> findByWords(UUID userId, ParagraphRequest request, Set<String> words) {
+        // 1. Redis superset lookup: one script call, rarest word first, stops at the first cached paragraph
+        Map<Long, ParagraphResponse> cached = redisService.findSupersetParagraphs(words, REDIS_CANDIDATES);
+        if (!cached.isEmpty()) {
+            Map.Entry<Long, ParagraphResponse> hit = cached.entrySet().iterator().next();
+            served("redis");
+            return Optional.of(linkUser(userId, hit.getKey(), hit.getValue(), request.getSelectedWords()));
+        }
+
+        // 2. In-process index: the stored paragraph of this level and length covering most of the words;
+        //    while it is still loading, the same ranking from the GIN-indexed paragraphs.words overlap
+        Optional<ParagraphResponse> reused = paragraphIndex.isReady()
+                ? reuseBestCovering(userId, request, words)
+                : reuseBestOverlap(userId, request, words);
+        if (reused.isPresent()) return reused;
+
+        // 3. Postgres superset search (GIN on paragraphs.words), same level and length
+        List<Paragraph> supersetMatches = paragraphRepository.findSupersetMatch(normalized(words),
+                ordinal(request.getLanguageLevel()), ordinal(request.getLength()), SUPERSET_CANDIDATES);
         if (!supersetMatches.isEmpty()) {
             Paragraph para = supersetMatches.getFirst();
-            return linkUser(userId, para.getId(), toParagraphResponse(para, request.getSelectedWords()), request.getSelectedWords());
+            served("superset");
+            return Optional.of(linkUser(userId, para.getId(), toParagraphResponse(para, request.getSelectedWords()), request.getSelectedWords()));
         }
 
-        // 3. Postgres full-text search
-        String tsQuery = String.join(" & ", words);
-        List<Paragraph> contentMatches = paragraphRepository.searchByContent(tsQuery);
+        // 4. Postgres full-text search (GIN on the stored search_vector), same level and length
+        List<Paragraph> contentMatches = paragraphRepository.searchByContent(String.join(" ", words),
+                ordinal(request.getLanguageLevel()), ordinal(request.getLength()), FULLTEXT_CANDIDATES);
         if (!contentMatches.isEmpty()) {
             Paragraph para = contentMatches.getFirst();
-            return linkUser(userId, para.getId(), toParagraphResponse(para, request.getSelectedWords()), request.getSelectedWords());
+            served("fulltext");
+            return Optional.of(linkUser(userId, para.getId(), toParagraphResponse(para, request.getSelectedWords()), request.getSelectedWords()));
         }
+        return Optional.empty();
+    }
 
-        // 4. LLM fallback
-        AiPromptPayload paragraphPayload = PromptBuilder.buildParagraphPrompt(request);
-        ParagraphResponse llmResponse = llmService.generateContent(paragraphPayload);
+    private Optional<ParagraphResponse> takeBuffered(UUID userId, ParagraphRequest request, ParagraphCombination combination) {
+        // ids of paragraphs deleted since they were buffered are skipped
+        for (int attempt = 0; attempt < BUFFER_ATTEMPTS; attempt++) {
+            Long id = redisService.popBufferedParagraph(combination.key());
+            if (id == null) return Optional.empty();
+            Optional<Paragraph> para = paragraphRepository.findById(id);
+            if (para.isEmpty()) continue;
+            served("buffer");
+            return Optional.of(linkUser(userId, id, toParagraphResponse(para.get(), para.get().getWords()), request.getSelectedWords()));
+        }
+        return Optional.empty();
+    }
+
+    private ParagraphResponse saveGenerated(UUID userId, ParagraphRequest request, ParagraphResponse llmResponse) {
+        Paragraph paragraph = storeGenerated(request, llmResponse);
+        return linkUser(userId, paragraph.getId(), llmResponse, llmResponse.getUsedWords());
+    }
 
+    /**
+     * Persists a generated paragraph (with its words array), caches it in Redis and adds it to the index,
+     * without linking it to a user. Used directly by the pre-generation buffer. Inside a transaction the
+     * Redis write and the index registration happen after commit.
+     */
+    @Transactional
+    public Paragraph storeGenerated(ParagraphRequest request, ParagraphResponse llmResponse) {
         Paragraph paragraph = Paragraph.builder()
                 .content(llmResponse.getText())
                 .level(request.getLanguageLevel())
                 .topic(request.getTopic())
                 .length(request.getLength())
+                .words(List.of(normalized(llmResponse.getUsedWords())))
                 .build();
         paragraphRepository.save(paragraph);
 
-        redisService.saveParagraphIndex(paragraph.getId(), llmResponse.getUsedWords());
-        redisService.saveParagraphContent(paragraph.getId(), llmResponse);
+        cacheAfterCommit(paragraph.getId(), llmResponse);
+        paragraphIndex.addParagraph(paragraph.getId(), paragraph.getLevel(), paragraph.getLength(),
+                paragraph.getContent(), llmResponse.getUsedWords());
+        return paragraph;
+    }
 
-        return linkUser(userId, paragraph.getId(), llmResponse, llmResponse.getUsedWords());
+    // Caches the paragraph once its row is committed, so a rollback never leaves a Redis hit without a paragraph
+    private void cacheAfterCommit(Long paragraphId, ParagraphResponse llmResponse) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    redisService.saveParagraph(paragraphId, llmResponse.getUsedWords(), llmResponse);
+                }
+            });
+        } else {
+            redisService.saveParagraph(paragraphId, llmResponse.getUsedWords(), llmResponse);
+        }
+    }
+
+    // the response lists only the requested words the reused paragraph actually contains
+    private Optional<ParagraphResponse> reuseBestCovering(UUID userId, ParagraphRequest request, Set<String> words) {
+        List<ParagraphIndex.Match> matches = paragraphIndex.topMatches(words, request.getLanguageLevel(), request.getLength(), reuseTopK);
+        for (ParagraphIndex.Match match : matches) {
+            if (match.coverage() < reuseMinCoverage) break;
+            // ranked best first; a paragraph deleted since it was indexed is skipped
+            Optional<Paragraph> para = paragraphRepository.findById(match.paragraphId());
+            if (para.isEmpty()) continue;
+            served("index");
+            return Optional.of(linkUser(userId, match.paragraphId(),
+                    toParagraphResponse(para.get(), match.coveredWords()), request.getSelectedWords()));
+        }
+        return Optional.empty();
+    }
+
+    private Optional<ParagraphResponse> reuseBestOverlap(UUID userId, ParagraphRequest request, Set<String> words) {
+        String[] normalized = normalized(words);
+        // paragraphs below the coverage threshold would be rejected below anyway
+        int minOverlap = Math.max(1, (int) Math.ceil(reuseMinCoverage * normalized.length));
+        List<Paragraph> matches = paragraphRepository.findOverlapMatch(normalized, minOverlap,
+                ordinal(request.getLanguageLevel()), ordinal(request.getLength()), overlapMaxScan, OVERLAP_CANDIDATES);
+        if (matches.isEmpty()) return Optional.empty();
+        Paragraph para = matches.getFirst();
+        Set<String> contained = new HashSet<>(para.getWords());
+        List<String> covered = words.stream().filter(w -> contained.contains(ParagraphIndex.normalize(w))).toList();
+        if (covered.size() < reuseMinCoverage * words.size()) return Optional.empty();
+        served("overlap");
+        return Optional.of(linkUser(userId, para.getId(), toParagraphResponse(para, covered), request.getSelectedWords()));
+    }
+
+    // distinct, normalized like the paragraph index
+    private static String[] normalized(Collection<String> words) {
+        if (words == null) return new String[0];
+        return words.stream().filter(w -> w != null && !w.isBlank()).map(ParagraphIndex::normalize).distinct().toArray(String[]::new);
+    }
+
+    // paragraph.requests{source}: reuse rate = non-llm / total
+    private void served(String source) {
+        Counter.builder("paragraph.requests")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static Integer ordinal(Enum<?> value) {
+        return value != null ? value.ordinal() : null;
     }
 
     private ParagraphResponse toParagraphResponse(Paragraph paragraph, List<String> words) {
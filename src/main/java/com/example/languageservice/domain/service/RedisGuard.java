@@ -0,0 +1,238 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.domain.utils.CircuitBreaker;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Resilience layer in front of every Redis call. Command and connect timeouts are kept tight
+ * (spring.data.redis.timeout), so a brownout surfaces as fast failures; those feed a {@link CircuitBreaker}
+ * that skips Redis entirely while it is unhealthy.
+ * <ul>
+ *   <li>reads return the caller's fallback: a miss the service already handles (DB path) or the local copy</li>
+ *   <li>writes that must not be lost are queued and replayed in order once a probe succeeds; a later write
+ *       for the same replay key replaces the queued one</li>
+ *   <li>the local copy is a bounded Caffeine cache of recently written Redis values (raw bytes/strings)</li>
+ * </ul>
+ * Every admitted call reports an outcome to the breaker, including calls that fail with something other than
+ * a {@link DataAccessException}; otherwise a failed half-open probe would hold the probe slot forever.
+ * Such exceptions are rethrown to the caller, and a queued write failing that way is dropped instead of
+ * blocking the replay queue.
+ * Metrics: redis.breaker.state (0 closed, 1 half-open, 2 open), redis.fallback{operation},
+ * redis.replay.pending, redis.replay.replayed, redis.replay.dropped, and cache.* for cache=redisFallback.
+ */
+@Component
+public class RedisGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisGuard.class);
+
+    private final CircuitBreaker breaker;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, Object> local;
+    private final int replayCapacity;
+    private final AtomicLong replaySequence = new AtomicLong();
+
+    // insertion-ordered; guarded by itself
+    private final LinkedHashMap<String, Runnable> pendingWrites = new LinkedHashMap<>();
+    private final Counter replayed;
+    private final Counter dropped;
+    private volatile CircuitBreaker.State lastState = CircuitBreaker.State.CLOSED;
+
+    public RedisGuard(MeterRegistry meterRegistry,
+                      @Value("${redis.resilience.failure-threshold:5}") int failureThreshold,
+                      @Value("${redis.resilience.open-duration:10s}") Duration openDuration,
+                      @Value("${redis.resilience.replay-capacity:10000}") int replayCapacity,
+                      @Value("${redis.resilience.local-cache-size:10000}") long localCacheSize) {
+        this.breaker = new CircuitBreaker(failureThreshold, openDuration);
+        this.meterRegistry = meterRegistry;
+        this.replayCapacity = replayCapacity;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localCacheSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "redisFallback");
+        Gauge.builder("redis.breaker.state", breaker, b -> b.state().ordinal()).register(meterRegistry);
+        Gauge.builder("redis.replay.pending", this, RedisGuard::pendingCount).register(meterRegistry);
+        this.replayed = Counter.builder("redis.replay.replayed").register(meterRegistry);
+        this.dropped = Counter.builder("redis.replay.dropped").register(meterRegistry);
+    }
+
+    public boolean isAvailable() {
+        return breaker.state() == CircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * Runs a Redis read; returns {@code fallback} when the breaker is open or the call fails.
+     */
+    public <T> T read(String operation, Supplier<T> call, Supplier<T> fallback) {
+        if (!breaker.tryAcquire()) return fallback(operation, fallback);
+        try {
+            T value = call.get();
+            succeeded();
+            return value;
+        } catch (DataAccessException e) {
+            failed(operation, e);
+            return fallback(operation, fallback);
+        } catch (RuntimeException | Error e) {
+            failed(operation, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Best-effort write (cache fill, lease release, marker): skipped while Redis is unhealthy.
+     */
+    public void write(String operation, Runnable call) {
+        read(operation, () -> {
+            call.run();
+            return null;
+        }, () -> null);
+    }
+
+    /**
+     * Write that is replayed after recovery when it cannot be applied now. {@code replayKey} identifies
+     * writes that supersede each other (e.g. one review score per word); null means "always keep".
+     */
+    public void write(String operation, String replayKey, Runnable call) {
+        String key = operation + ":" + (replayKey != null ? replayKey : "#" + replaySequence.incrementAndGet());
+        if (breaker.tryAcquire()) {
+            try {
+                call.run();
+                succeeded();
+                synchronized (pendingWrites) {
+                    // a newer live write makes the queued one obsolete
+                    if (replayKey != null) pendingWrites.remove(key);
+                }
+                return;
+            } catch (DataAccessException e) {
+                failed(operation, e);
+            } catch (RuntimeException | Error e) {
+                failed(operation, e);
+                throw e;
+            }
+        }
+        counter(operation).increment();
+        enqueue(key, call);
+    }
+
+    /** Keeps the Redis value written under {@code key} for reads while Redis is unavailable. */
+    public void remember(String key, Object value) {
+        local.put(key, value);
+    }
+
+    public <T> T recall(String key, Class<T> type) {
+        Object value = local.getIfPresent(key);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    public void forget(String key) {
+        local.invalidate(key);
+    }
+
+    public int pendingCount() {
+        synchronized (pendingWrites) {
+            return pendingWrites.size();
+        }
+    }
+
+    public CircuitBreaker.State state() {
+        return breaker.state();
+    }
+
+    /**
+     * Drains queued writes in order; the first one doubles as the half-open probe. Stops at the first Redis
+     * failure; a write that fails with anything else will never succeed and is dropped.
+     */
+    @Scheduled(fixedDelayString = "${redis.resilience.replay-interval:5s}")
+    public void replayPending() {
+        while (true) {
+            Map.Entry<String, Runnable> next;
+            synchronized (pendingWrites) {
+                if (pendingWrites.isEmpty()) return;
+                next = pendingWrites.entrySet().iterator().next();
+            }
+            if (!breaker.tryAcquire()) return;
+            try {
+                next.getValue().run();
+                succeeded();
+            } catch (DataAccessException e) {
+                failed("replay", e);
+                return;
+            } catch (RuntimeException e) {
+                failed("replay", e);
+                log.warn("Dropping queued Redis write {}", next.getKey(), e);
+                synchronized (pendingWrites) {
+                    pendingWrites.remove(next.getKey(), next.getValue());
+                }
+                dropped.increment();
+                continue;
+            }
+            synchronized (pendingWrites) {
+                pendingWrites.remove(next.getKey(), next.getValue());
+            }
+            replayed.increment();
+        }
+    }
+
+    private void enqueue(String key, Runnable call) {
+        synchronized (pendingWrites) {
+            pendingWrites.remove(key);
+            pendingWrites.put(key, call);
+            if (pendingWrites.size() > replayCapacity) {
+                Iterator<String> oldest = pendingWrites.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+                dropped.increment();
+            }
+        }
+    }
+
+    private <T> T fallback(String operation, Supplier<T> fallback) {
+        counter(operation).increment();
+        return fallback.get();
+    }
+
+    private void succeeded() {
+        breaker.onSuccess();
+        logTransition();
+    }
+
+    private void failed(String operation, Throwable e) {
+        breaker.onFailure();
+        log.debug("Redis {} failed", operation, e);
+        logTransition();
+    }
+
+    private void logTransition() {
+        CircuitBreaker.State state = breaker.state();
+        if (state == lastState) return;
+        lastState = state;
+        if (state == CircuitBreaker.State.OPEN) {
+            log.warn("Redis circuit opened, serving from local caches and the DB; {} writes queued", pendingCount());
+        } else if (state == CircuitBreaker.State.CLOSED) {
+            log.info("Redis circuit closed, replaying {} queued writes", pendingCount());
+        }
+    }
+
+    private Counter counter(String operation) {
+        return Counter.builder("redis.fallback")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
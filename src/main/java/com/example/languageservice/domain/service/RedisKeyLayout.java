@@ -0,0 +1,126 @@
+package com.example.languageservice.domain.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Redis Cluster key layout. Every key that takes part in a multi-key command or script carries a hash tag
+ * ({...}), so the command runs within one slot:
+ * <ul>
+ *   <li>Level pools are replicated {@code redis.cluster.pool-replicas} times, one copy per tag
+ *       {@code {level:language:replica}}. A user's assigned set/bitmap, sync marker and unseen temp key share
+ *       the tag of the replica the user hashes to, so the unseen scripts stay single-slot while users spread
+ *       over all replicas.</li>
+ *   <li>The paragraph reverse index is partitioned by paragraph id into {@code redis.cluster.paragraph-shards}
+ *       shards, tag {@code {p<shard>}}. A paragraph's content and all its word entries live in its shard, so
+ *       a superset lookup is one single-slot script per shard.</li>
+ *   <li>Paragraph-buffer demand buckets share the tag {@code {pdemand}}, so their union is single-slot.</li>
+ * </ul>
+ * With the defaults (1 replica, 1 shard, {@code redis.cluster.hash-tags: false}) the untagged names of a
+ * standalone deployment are kept ({@code para:<id>}, {@code word:<w>}, {@code level:<level>:<language>:wordIds},
+ * {@code user:<id>:<level>:<language>:assigned}), so upgrading does not orphan cached paragraphs or index
+ * entries. Raising either count, or setting {@code hash-tags} for a cluster that runs with the defaults,
+ * switches to the tagged names; pools and assigned mirrors are rebuilt from Postgres, the paragraph index
+ * needs {@link RedisKeyMigration}.
+ */
+@Component
+public class RedisKeyLayout {
+
+    private final int poolReplicas;
+    private final int paragraphShards;
+    private final boolean hashTags;
+
+    public RedisKeyLayout(@Value("${redis.cluster.pool-replicas:1}") int poolReplicas,
+                          @Value("${redis.cluster.paragraph-shards:1}") int paragraphShards,
+                          @Value("${redis.cluster.hash-tags:false}") boolean hashTags) {
+        this.poolReplicas = Math.max(1, poolReplicas);
+        this.paragraphShards = Math.max(1, paragraphShards);
+        this.hashTags = hashTags || this.poolReplicas > 1 || this.paragraphShards > 1;
+    }
+
+    /** False while the legacy standalone names are in use; there is nothing to migrate then. */
+    public boolean hashTagged() {
+        return hashTags;
+    }
+
+    public int paragraphShards() {
+        return paragraphShards;
+    }
+
+    /* ----- level pools and per-user mirrors ----- */
+
+    public List<String> levelWordIdsReplicas(String level, String language) {
+        return IntStream.range(0, poolReplicas).mapToObj(r -> levelWordIds(level, language, r)).toList();
+    }
+
+    /** The pool replica co-located with this user's keys. */
+    public String levelWordIds(UUID userId, String level, String language) {
+        return levelWordIds(level, language, replicaOf(userId));
+    }
+
+    public String userAssigned(UUID userId, String level, String language) {
+        return userKey(userId, level, language, "assigned");
+    }
+
+    public String userAssignedBits(UUID userId, String level, String language) {
+        return userKey(userId, level, language, "assignedBits");
+    }
+
+    public String userAssignedSynced(UUID userId, String level, String language) {
+        return userKey(userId, level, language, "assignedSynced");
+    }
+
+    public String unseenTmp(UUID userId, String level, String language) {
+        return userKey(userId, level, language, "unseenTmp");
+    }
+
+    /* ----- paragraphs ----- */
+
+    public int shardOf(long paragraphId) {
+        return (int) Math.floorMod(paragraphId, (long) paragraphShards);
+    }
+
+    public String paragraph(long paragraphId) {
+        if (!hashTags) return "para:" + paragraphId;
+        return "{p" + shardOf(paragraphId) + "}para:" + paragraphId;
+    }
+
+    public String wordIndex(String word, int shard) {
+        if (!hashTags) return "word:" + word;
+        return "{p" + shard + "}word:" + word;
+    }
+
+    /* ----- paragraph buffer demand ----- */
+
+    /** Hourly demand bucket; all buckets share one tag so they can be unioned in one command. */
+    public String paragraphDemand(long epochHour) {
+        return "{pdemand}:" + epochHour;
+    }
+
+    public String paragraphDemandWindow() {
+        return "{pdemand}:window";
+    }
+
+    /** Paragraph id from a content key, in this or the legacy (untagged) layout. */
+    public static long paragraphIdOf(String paragraphKey) {
+        return Long.parseLong(paragraphKey.substring(paragraphKey.lastIndexOf(':') + 1));
+    }
+
+    private String levelWordIds(String level, String language, int replica) {
+        if (!hashTags) return "level:" + level + ":" + language + ":wordIds";
+        return "level:{" + level + ":" + language + ":" + replica + "}:wordIds";
+    }
+
+    private String userKey(UUID userId, String level, String language, String suffix) {
+        if (!hashTags) return "user:" + userId + ":" + level + ":" + language + ":" + suffix;
+        return "user:" + userId + ":{" + level + ":" + language + ":" + replicaOf(userId) + "}:" + suffix;
+    }
+
+    private int replicaOf(UUID userId) {
+        return Math.floorMod(userId.hashCode(), poolReplicas);
+    }
+}
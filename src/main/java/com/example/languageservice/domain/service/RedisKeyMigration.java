@@ -0,0 +1,145 @@
+package com.example.languageservice.domain.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One-off move of existing keys into the hash-tagged {@link RedisKeyLayout}. Safe to run while traffic is served
+ * and to re-run; works on a standalone Redis (before moving the data into a cluster) as well as on a cluster.
+ * <ul>
+ *   <li>{@code para:<id>} content is moved with DUMP/RESTORE (keeps the TTL) to its shard key</li>
+ *   <li>{@code word:<w>} reverse-index sets are split by the shard of each paragraph id</li>
+ *   <li>untagged level pools and per-user assigned keys are deleted: the warm-up and the lazy mirror rebuild
+ *       recreate them from Postgres under the new names</li>
+ * </ul>
+ * A Redis lease makes sure only one node migrates at a time; it does nothing while the layout still uses the
+ * legacy names.
+ */
+@Component
+@ConditionalOnProperty(name = "redis.key-migration.enabled", havingValue = "true")
+public class RedisKeyMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisKeyMigration.class);
+    private static final String LEASE = "redisKeyMigration";
+
+    private final RedisService redisService;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisKeyLayout layout;
+    private final boolean dropRebuildable;
+    private final Duration lease;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public RedisKeyMigration(RedisService redisService,
+                             RedisTemplate<String, String> redisTemplate,
+                             RedisKeyLayout layout,
+                             @Value("${redis.key-migration.drop-rebuildable:true}") boolean dropRebuildable,
+                             @Value("${redis.key-migration.lease:30m}") Duration lease) {
+        this.redisService = redisService;
+        this.redisTemplate = redisTemplate;
+        this.layout = layout;
+        this.dropRebuildable = dropRebuildable;
+        this.lease = lease;
+    }
+
+    @Async("threadPoolTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        // legacy and target names are the same: moving would delete the keys, dropping would empty the pools
+        if (!layout.hashTagged()) {
+            log.info("Redis key migration skipped: the layout still uses the legacy key names");
+            return;
+        }
+        // one node is enough, concurrent runs would race on the same DUMP/RESTORE and SADD
+        if (!redisService.tryAcquireLease(LEASE, nodeId, lease)) {
+            log.info("Redis key migration skipped: running on another node");
+            return;
+        }
+        try {
+            migrateKeys();
+        } finally {
+            redisService.releaseLease(LEASE, nodeId);
+        }
+    }
+
+    private void migrateKeys() {
+        AtomicLong paragraphs = new AtomicLong();
+        AtomicLong indexEntries = new AtomicLong();
+        AtomicLong dropped = new AtomicLong();
+        log.info("Migrating Redis keys to the hash-tagged layout");
+
+        redisService.scanKeys("para:*", key -> {
+            try {
+                if (moveParagraph(key)) paragraphs.incrementAndGet();
+            } catch (Exception e) {
+                log.warn("Failed to migrate {}", key, e);
+            }
+        });
+        redisService.scanKeys("word:*", key -> {
+            try {
+                indexEntries.addAndGet(splitWordIndex(key));
+            } catch (Exception e) {
+                log.warn("Failed to migrate {}", key, e);
+            }
+        });
+        if (dropRebuildable) {
+            for (String pattern : List.of("level:*:wordIds", "user:*:assigned", "user:*:assignedBits", "user:*:assignedSynced")) {
+                redisService.scanKeys(pattern, key -> {
+                    // tagged keys match the same patterns
+                    if (key.indexOf('{') < 0 && Boolean.TRUE.equals(redisTemplate.delete(key))) dropped.incrementAndGet();
+                });
+            }
+        }
+        log.info("Redis key migration finished: {} paragraphs, {} index entries moved, {} rebuildable keys dropped",
+                paragraphs.get(), indexEntries.get(), dropped.get());
+    }
+
+    // false when the new key already existed (written after the deploy) and the legacy copy was just dropped
+    boolean moveParagraph(String legacyKey) {
+        String target = layout.paragraph(RedisKeyLayout.paragraphIdOf(legacyKey));
+        boolean moved = false;
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(target))) {
+            byte[] dump = redisTemplate.dump(legacyKey);
+            if (dump == null) return false;
+            Long ttl = redisTemplate.getExpire(legacyKey, TimeUnit.MILLISECONDS);
+            redisTemplate.restore(target, dump, ttl == null || ttl < 0 ? 0 : ttl, TimeUnit.MILLISECONDS, false);
+            moved = true;
+        }
+        redisTemplate.delete(legacyKey);
+        return moved;
+    }
+
+    long splitWordIndex(String legacyKey) {
+        String word = legacyKey.substring("word:".length());
+        Map<Integer, List<String>> byShard = new HashMap<>();
+        long entries = 0;
+        try (Cursor<String> members = redisTemplate.opsForSet().scan(legacyKey, ScanOptions.scanOptions().count(1000).build())) {
+            while (members.hasNext()) {
+                long id = RedisKeyLayout.paragraphIdOf(members.next());
+                byShard.computeIfAbsent(layout.shardOf(id), s -> new ArrayList<>()).add(layout.paragraph(id));
+                entries++;
+            }
+        }
+        redisService.pipeline(ops -> byShard.forEach((shard, ids) -> {
+            for (int from = 0; from < ids.size(); from += 1000) {
+                List<String> slice = ids.subList(from, Math.min(from + 1000, ids.size()));
+                ops.opsForSet().add(layout.wordIndex(word, shard), slice.toArray(String[]::new));
+            }
+        }));
+        redisTemplate.delete(legacyKey);
+        return entries;
+    }
+}
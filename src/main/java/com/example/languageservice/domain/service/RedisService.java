@@ -1,14 +1,33 @@
 package com.example.languageservice.domain.service;
 
 import com.example.languageservice.api.dto.ParagraphResponse;
-import com.example.languageservice.domain.model.UserWord;
+import com.example.languageservice.api.dto.WordDto;
+import com.example.languageservice.domain.utils.RedisCodec;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 //Maybe separate unseen key can be also added to avoid checking unseen in db? it can be updated immediately when user is assigned a word?
 @Service
@@ -16,87 +35,410 @@ import java.util.stream.Collectors;
 public class RedisService {
 
     private final RedisTemplate<String, String> redisTemplate;
+    // paragraphs, due words and generic lists are stored as codec-encoded bytes
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final RedisCodec codec;
+    // breaker, replay queue and local fallback copies; see RedisGuard
+    private final RedisGuard guard;
+    // hash-tagged key names for Redis Cluster; see RedisKeyLayout
+    private final RedisKeyLayout layout;
     private final ObjectMapper mapper = new ObjectMapper();
 
+    // SET: decimal-string members (legacy), BITMAP: one bit per word id
+    @Value("${redis.assigned-encoding:SET}")
+    private AssignedEncoding assignedEncoding = AssignedEncoding.SET;
+
+    public enum AssignedEncoding {
+        SET, BITMAP;
+
+        String arg() { return name().toLowerCase(); }
+    }
+
+    @Value("${translation.cache-ttl:30d}")
+    private Duration translationTtl = Duration.ofDays(30);
+
+    // "not found" results are kept briefly so repeated misses skip Postgres but new words show up soon
+    @Value("${translation.negative-ttl:5m}")
+    private Duration translationNegativeTtl = Duration.ofMinutes(5);
+
+    private static final String TRANSLATION_MISS = "-";
+
+    // upper bound on pool members the bitmap-mode unseen fallback examines in one script call
+    @Value("${redis.unseen.max-scan:5000}")
+    private int unseenMaxScan = 5000;
+
+    // upper bound on reverse-index members one superset lookup examines
+    @Value("${paragraph.lookup.max-scan:5000}")
+    private int paragraphLookupMaxScan = 5000;
+
+    public AssignedEncoding getAssignedEncoding() {
+        return assignedEncoding;
+    }
+
+    /** False while the circuit breaker skips Redis; callers with a DB path can go there directly. */
+    public boolean isAvailable() {
+        return guard.isAvailable();
+    }
+
     /* =========================
        Keys
        ========================= */
-    private String kDueWords(UUID userId)                 { return "dueWords:" + userId; }
-    private String kWordIndex(String word)                { return "word:" + word; }
-    private String kParagraph(Long id)                    { return "para:" + id; }
-    private String kLevelWordIds(String level, String language) {
-        return "level:" + level + ":" + language + ":wordIds";
-    }
-    private String kUserAssigned(UUID userId, String level, String language) {
-        return "user:" + userId + ":" + level + ":" + language + ":assigned";
+    private String kDueSchedule(UUID userId)              { return "user:" + userId + ":due"; }
+    private String kDueScheduleSynced(UUID userId)        { return "user:" + userId + ":dueSynced"; }
+    private String kLease(String name)                    { return "lease:" + name; }
+    private String kTranslation(String sourceLang, String targetLang, String word) {
+        return "translation:" + sourceLang + ":" + targetLang + ":" + word;
     }
+    private String kStarvedPools()                        { return "wordPools:starved"; }
+    private String kPoolSupply(String level, String language) { return "wordPools:supply:" + level + ":" + language; }
+    private String kParagraphBuffer(String combination)   { return "paragraphBuffer:" + combination; }
+    private String kRate(String name, long window)        { return "rate:" + name + ":" + window; }
+
+    /* =========================
+       Scripts
+       ========================= */
+
+    private static final int SAMPLE_MAX_ROUNDS = 4;
+
+    // Shared prelude: KEYS[2] assigned set, KEYS[4] assigned bitmap, ARGV[1] encoding.
+    // In bitmap mode both are checked so not-yet-migrated sets keep working; once migrated the set is gone
+    // and only the bitmap is read. There is no server-side difference of a set and a bitmap, so in bitmap
+    // mode storeUnseen walks the pool with SSCAN and stops after `budget` members: the script stays bounded
+    // however large the pool is, at the price of returning only the unseen words of the part it walked.
+    private static final String ASSIGNED_LUA = """
+            local bitmap = ARGV[1] == 'bitmap'
+            local legacySet = not bitmap or redis.call('EXISTS', KEYS[2]) == 1
+            local function assigned(id)
+              if bitmap and redis.call('GETBIT', KEYS[4], id) == 1 then return true end
+              return legacySet and redis.call('SISMEMBER', KEYS[2], id) == 1
+            end
+            local function storeUnseen(budget)
+              if bitmap then
+                local cursor = '0'
+                repeat
+                  local page = redis.call('SSCAN', KEYS[1], cursor, 'COUNT', 100)
+                  cursor = page[1]
+                  for _, id in ipairs(page[2]) do
+                    if not assigned(id) then redis.call('SADD', KEYS[3], id) end
+                  end
+                  budget = budget - #page[2]
+                until cursor == '0' or budget <= 0
+              else
+                redis.call('SDIFFSTORE', KEYS[3], KEYS[1], KEYS[2])
+              end
+            end
+            """;
+
+    // KEYS: level pool, user assigned set, temp diff key, user assigned bitmap
+    // ARGV: encoding, count, max sampling rounds, fallback scan budget
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<String>> SAMPLE_UNSEEN_SCRIPT = new DefaultRedisScript(ASSIGNED_LUA + """
+            local want = tonumber(ARGV[2])
+            local result, seen = {}, {}
+            for round = 1, tonumber(ARGV[3]) do
+              local n = (want - #result) * 2
+              local batch = redis.call('SRANDMEMBER', KEYS[1], n)
+              for _, id in ipairs(batch) do
+                if not seen[id] then
+                  seen[id] = true
+                  if not assigned(id) then
+                    result[#result + 1] = id
+                    if #result == want then return result end
+                  end
+                end
+              end
+              -- fewer than asked means the whole pool was scanned
+              if #batch < n then return result end
+            end
+            storeUnseen(tonumber(ARGV[4]))
+            local sample = redis.call('SRANDMEMBER', KEYS[3], want)
+            redis.call('DEL', KEYS[3])
+            return sample
+            """, List.class);
+
+    // Same keys as above | ARGV: encoding, scan budget
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<String>> ALL_UNSEEN_SCRIPT = new DefaultRedisScript(ASSIGNED_LUA + """
+            storeUnseen(tonumber(ARGV[2]))
+            local unseen = redis.call('SMEMBERS', KEYS[3])
+            redis.call('DEL', KEYS[3])
+            return unseen
+            """, List.class);
+
+    // KEYS: user assigned set, user assigned bitmap, sync marker | ARGV: encoding, word ids...
+    // Adds the ids in the configured encoding and sets the marker in one step. Nothing is deleted, so an
+    // assignment another request mirrored after our DB read survives the rebuild.
+    private static final RedisScript<Long> LOAD_ASSIGNED_SCRIPT = new DefaultRedisScript<>("""
+            local n = #ARGV - 1
+            if ARGV[1] == 'bitmap' then
+              for i = 2, #ARGV do redis.call('SETBIT', KEYS[2], ARGV[i], 1) end
+            else
+              for from = 2, #ARGV, 1000 do
+                redis.call('SADD', KEYS[1], unpack(ARGV, from, math.min(from + 999, #ARGV)))
+              end
+            end
+            redis.call('SET', KEYS[3], '1')
+            return n
+            """, Long.class);
+
+    // KEYS: user assigned set, user assigned bitmap. Moves every member into the bitmap and drops the set.
+    private static final RedisScript<Long> MIGRATE_ASSIGNED_SCRIPT = new DefaultRedisScript<>("""
+            local ids = redis.call('SMEMBERS', KEYS[1])
+            for _, id in ipairs(ids) do redis.call('SETBIT', KEYS[2], id, 1) end
+            redis.call('DEL', KEYS[1])
+            return #ids
+            """, Long.class);
+
+    // KEYS: hash. Returns the fields and values and deletes the hash, so no increment is counted twice or lost.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<String>> POP_HASH_SCRIPT = new DefaultRedisScript("""
+            local fields = redis.call('HGETALL', KEYS[1])
+            redis.call('DEL', KEYS[1])
+            return fields
+            """, List.class);
+
+    // KEYS: lease key | ARGV: owner token. Deletes the lease only if this owner still holds it.
+    private static final RedisScript<Long> RELEASE_LEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end
+            return 0
+            """, Long.class);
+
+    // KEYS: word reverse-index sets | ARGV: wanted matches, max members examined.
+    // Checks members of the smallest set against the others in ascending cardinality, so the most selective
+    // set rejects first, and stops after ARGV[1] paragraphs whose content is still cached. The member is the
+    // content key itself (para:<id>); returns a flat {member, content, member, content, ...} list.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List> SUPERSET_PARAGRAPHS_SCRIPT = new DefaultRedisScript("""
+            local sets = {}
+            for i, key in ipairs(KEYS) do
+              local n = redis.call('SCARD', key)
+              if n == 0 then return {} end
+              sets[i] = {key = key, n = n}
+            end
+            table.sort(sets, function(a, b) return a.n < b.n end)
+            local want, budget = tonumber(ARGV[1]), tonumber(ARGV[2])
+            local result, seen, cursor = {}, {}, '0'
+            repeat
+              local page = redis.call('SSCAN', sets[1].key, cursor, 'COUNT', 100)
+              cursor = page[1]
+              for _, member in ipairs(page[2]) do
+                if not seen[member] then
+                  seen[member] = true
+                  budget = budget - 1
+                  local all = true
+                  for i = 2, #sets do
+                    if redis.call('SISMEMBER', sets[i].key, member) == 0 then all = false break end
+                  end
+                  if all then
+                    local content = redis.call('GET', member)
+                    if content then
+                      result[#result + 1] = member
+                      result[#result + 1] = content
+                      if #result == want * 2 then return result end
+                    end
+                  end
+                  if budget <= 0 then return result end
+                end
+              end
+            until cursor == '0'
+            return result
+            """, List.class);
+
+    // applied to each element of the script's multi-bulk reply, so members and contents come back as raw bytes
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisSerializer<List> SUPERSET_RESULT_SERIALIZER = (RedisSerializer) RedisSerializer.byteArray();
 
     /* =========================
        Paragraph storage (already exists)
        ========================= */
 
-    // Save word -> paragraph reverse index
+    // Save word -> paragraph reverse index, all SADDs in one pipelined round trip
     public void saveParagraphIndex(Long paragraphId, Iterable<String> words) {
-        for (String word : words) {
-            redisTemplate.opsForSet().add(kWordIndex(word), kParagraph(paragraphId));
-        }
+        int shard = layout.shardOf(paragraphId);
+        guard.write("paragraph.index", null, () -> pipeline(ops -> {
+            for (String word : words) {
+                ops.opsForSet().add(layout.wordIndex(word, shard), layout.paragraph(paragraphId));
+            }
+        }));
     }
 
     // Save full paragraph
     public void saveParagraphContent(Long paragraphId, ParagraphResponse response) {
-        try {
-            redisTemplate.opsForValue().set(kParagraph(paragraphId), mapper.writeValueAsString(response));
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to save paragraph in Redis", e);
-        }
+        String key = layout.paragraph(paragraphId);
+        byte[] content = codec.encode(response);
+        guard.remember(key, content);
+        guard.write("paragraph.save", key, () -> binaryRedisTemplate.opsForValue().set(key, content));
+    }
+
+    /**
+     * Content plus reverse index of a new paragraph in one round trip (one SET and one SADD per word).
+     */
+    public void saveParagraph(Long paragraphId, Iterable<String> words, ParagraphResponse response) {
+        byte[] content = codec.encode(response);
+        String key = layout.paragraph(paragraphId);
+        byte[] member = bytes(key);
+        int shard = layout.shardOf(paragraphId);
+        guard.remember(key, content);
+        // raw connection: the binary SET and the string SADDs share one pipeline
+        guard.write("paragraph.save", key, () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().set(member, content);
+            for (String word : words) {
+                connection.setCommands().sAdd(bytes(layout.wordIndex(word, shard)), member);
+            }
+            return null;
+        }));
+    }
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
     }
 
-    // Lookup by words (superset)
-    public Set<String> intersectWords(Set<String> words) {
+    // Lookup by words (superset): ids of all paragraphs containing every word, one SINTER per shard
+    public Set<Long> intersectWords(Set<String> words) {
         if (words.isEmpty()) return Set.of();
-        String[] keys = words.stream().map(this::kWordIndex).toArray(String[]::new);
-        return redisTemplate.opsForSet().intersect(keys[0], List.of(keys));
+        Set<Long> result = new HashSet<>();
+        for (int shard = 0; shard < layout.paragraphShards(); shard++) {
+            int s = shard;
+            List<String> keys = words.stream().map(w -> layout.wordIndex(w, s)).toList();
+            Set<String> members = guard.read("paragraph.intersect",
+                    () -> redisTemplate.opsForSet().intersect(keys.getFirst(), keys), Set::of);
+            members.forEach(m -> result.add(RedisKeyLayout.paragraphIdOf(m)));
+        }
+        return result;
+    }
+
+    /**
+     * Up to {@code limit} cached paragraphs containing every word, found and loaded in one script call.
+     * Sets are intersected smallest first and the scan ends at the first {@code limit} hits or after
+     * {@code paragraphLookupMaxScan} candidates, so the cost follows the rarest word rather than the
+     * corpus size. Ids in the reverse index whose content was evicted are skipped.
+     * With several paragraph shards the script runs shard by shard, starting at a random one, until
+     * {@code limit} paragraphs are found.
+     */
+    public Map<Long, ParagraphResponse> findSupersetParagraphs(Set<String> words, int limit) {
+        if (words.isEmpty() || limit <= 0) return Map.of();
+        Map<Long, ParagraphResponse> result = new LinkedHashMap<>();
+        int shards = layout.paragraphShards();
+        int first = shards == 1 ? 0 : ThreadLocalRandom.current().nextInt(shards);
+        for (int n = 0; n < shards && result.size() < limit; n++) {
+            int shard = (first + n) % shards;
+            List<String> keys = words.stream().map(w -> layout.wordIndex(w, shard)).toList();
+            String want = String.valueOf(limit - result.size());
+            @SuppressWarnings("unchecked")
+            List<byte[]> flat = guard.read("paragraph.superset", () -> binaryRedisTemplate.execute(SUPERSET_PARAGRAPHS_SCRIPT,
+                    RedisSerializer.string(), SUPERSET_RESULT_SERIALIZER, keys,
+                    want, String.valueOf(paragraphLookupMaxScan)), () -> null);
+            if (flat == null) break;
+            for (int i = 0; i + 1 < flat.size(); i += 2) {
+                String member = new String(flat.get(i), StandardCharsets.UTF_8);
+                guard.remember(member, flat.get(i + 1));
+                try {
+                    result.put(RedisKeyLayout.paragraphIdOf(member), codec.decode(flat.get(i + 1), ParagraphResponse.class));
+                } catch (Exception e) {
+                    // treat as a cache miss
+                }
+            }
+        }
+        return result;
     }
 
     // Retrieve full paragraph by ID
     public ParagraphResponse getParagraph(Long paragraphId) {
+        String key = layout.paragraph(paragraphId);
         try {
-            String json = redisTemplate.opsForValue().get(kParagraph(paragraphId));
-            if (json == null) return null;
-            return mapper.readValue(json, ParagraphResponse.class);
+            byte[] value = guard.read("paragraph.get", () -> binaryRedisTemplate.opsForValue().get(key),
+                    () -> guard.recall(key, byte[].class));
+            if (value == null) return null;
+            guard.remember(key, value);
+            return codec.decode(value, ParagraphResponse.class);
         } catch (Exception e) {
             return null;
         }
     }
 
+    /**
+     * One MGET for several candidates. Ids that are missing or unreadable are left out; iteration order
+     * follows the given ids.
+     */
+    public Map<Long, ParagraphResponse> getParagraphs(Collection<Long> paragraphIds) {
+        if (paragraphIds.isEmpty()) return Map.of();
+        List<Long> ids = List.copyOf(paragraphIds);
+        List<String> keys = ids.stream().map(layout::paragraph).toList();
+        List<byte[]> values = guard.read("paragraph.get", () -> binaryRedisTemplate.opsForValue().multiGet(keys),
+                () -> keys.stream().map(k -> guard.recall(k, byte[].class)).toList());
+        Map<Long, ParagraphResponse> result = new LinkedHashMap<>();
+        for (int i = 0; values != null && i < ids.size(); i++) {
+            if (values.get(i) == null) continue;
+            guard.remember(keys.get(i), values.get(i));
+            try {
+                result.put(ids.get(i), codec.decode(values.get(i), ParagraphResponse.class));
+            } catch (Exception e) {
+                // treat as a cache miss
+            }
+        }
+        return result;
+    }
+
     /* =========================
-       Word & Box — due words cache
+       Word & Box — due schedule (ZSET wordId -> next review, epoch millis)
        ========================= */
 
-    // Save user due words (serialize whole list)
-    public void cacheDueWords(UUID userId, List<UserWord> dueWords) {
-        try {
-            String json = mapper.writeValueAsString(dueWords);
-            redisTemplate.opsForValue().set(kDueWords(userId), json, Duration.ofHours(12));
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to cache due words for user " + userId, e);
-        }
+    /**
+     * Sets the next review time of one word; a review is a single ZADD that re-scores the member.
+     */
+    public void scheduleReview(UUID userId, Long wordId, Instant nextReview) {
+        guard.write("due.schedule", userId + ":" + wordId,
+                () -> redisTemplate.opsForZSet().add(kDueSchedule(userId), wordId.toString(), nextReview.toEpochMilli()));
     }
 
-    // Get cached user due words
-    public List<UserWord> getCachedDueWords(UUID userId) {
-        try {
-            String json = redisTemplate.opsForValue().get(kDueWords(userId));
-            if (json == null) return null;
-            return Arrays.asList(mapper.readValue(json, UserWord[].class));
-        } catch (Exception e) {
-            return null;
-        }
+    /**
+     * Schedules newly assigned words without touching words that are already scheduled (ZADD NX),
+     * mirroring the ON CONFLICT DO NOTHING of the bulk assignment.
+     */
+    public void scheduleNewWords(UUID userId, Collection<Long> wordIds, Instant nextReview) {
+        if (wordIds.isEmpty()) return;
+        Set<ZSetOperations.TypedTuple<String>> tuples = wordIds.stream()
+                .map(id -> ZSetOperations.TypedTuple.of(id.toString(), (double) nextReview.toEpochMilli()))
+                .collect(Collectors.toSet());
+        guard.write("due.schedule", null, () -> redisTemplate.opsForZSet().addIfAbsent(kDueSchedule(userId), tuples));
+    }
+
+    /**
+     * Word ids whose next review is at or before {@code now}, most overdue first, at most {@code limit}.
+     * Null (not empty) when Redis is unavailable, so the caller can rank from the DB instead.
+     */
+    public List<Long> getDueWordIds(UUID userId, Instant now, int limit) {
+        Set<String> ids = guard.read("due.range", () -> Objects.requireNonNullElse(redisTemplate.opsForZSet()
+                .rangeByScore(kDueSchedule(userId), Double.NEGATIVE_INFINITY, now.toEpochMilli(), 0, limit), Set.of()), () -> null);
+        if (ids == null) return null;
+        return ids.stream().map(Long::valueOf).toList();
+    }
+
+    /**
+     * Rebuilds the schedule from Postgres in one pipeline (1000 members per ZADD) and marks it loaded.
+     */
+    public void replaceDueScheduleFromDb(UUID userId, Map<Long, Instant> nextReviews) {
+        String key = kDueSchedule(userId);
+        List<Map.Entry<Long, Instant>> entries = new ArrayList<>(nextReviews.entrySet());
+        // not replayed: without the marker the next read rebuilds anyway
+        guard.write("due.rebuild", () -> pipeline(ops -> {
+            ops.delete(key);
+            for (int from = 0; from < entries.size(); from += 1000) {
+                Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+                for (Map.Entry<Long, Instant> e : entries.subList(from, Math.min(from + 1000, entries.size()))) {
+                    tuples.add(ZSetOperations.TypedTuple.of(e.getKey().toString(), (double) e.getValue().toEpochMilli()));
+                }
+                ops.opsForZSet().add(key, tuples);
+            }
+            ops.opsForValue().set(kDueScheduleSynced(userId), "1");
+        }));
     }
 
-    // Invalidate due words
-    public void invalidateDueWords(UUID userId) {
-        redisTemplate.delete(kDueWords(userId));
+    /**
+     * False when the schedule was never loaded from the DB on this Redis; an empty ZSET would read as "nothing due".
+     */
+    public boolean isDueScheduleLoaded(UUID userId) {
+        return guard.read("due.synced", () -> Boolean.TRUE.equals(redisTemplate.hasKey(kDueScheduleSynced(userId))), () -> false);
     }
 
     /* =========================
@@ -105,52 +447,91 @@ public class RedisService {
 
     /**
      * Returns ALL unseen word IDs in Redis for this user+level+language:
-     * unseen = SDIFF(level:<level>:<language>:wordIds, user:<uuid>:<level>:<language>:assigned)
-     * You can limit/trim in the service layer.
+     * unseen = the user's level pool replica minus the user's assigned words (set or bitmap), computed server-side.
+     * You can limit/trim in the service layer. In bitmap mode only the first {@code redis.unseen.max-scan} pool
+     * members are examined, so on a larger pool this is a subset.
      */
     public List<Long> getUnseenWordsForUser(UUID userId, String level, String language) {
-        String levelKey = kLevelWordIds(level, language);
-        String userAssignedKey = kUserAssigned(userId, level, language);
-
-        // Server-side SDIFF if both sets exist, else graceful fallback
-        Set<String> unseen = redisTemplate.opsForSet().difference(levelKey, userAssignedKey);
+        List<String> unseen = guard.read("unseen.all", () -> redisTemplate.execute(ALL_UNSEEN_SCRIPT,
+                assignedScriptKeys(userId, level, language), assignedEncoding.arg(), String.valueOf(unseenMaxScan)), List::of);
         if (unseen == null || unseen.isEmpty()) return List.of();
-
         return unseen.stream().map(Long::valueOf).toList();
     }
 
     /**
-     * Convenience to fetch up to 'count' unseen random IDs (uses SRANDMEMBER on the DIFF result in-memory).
-     * If you prefer pure Redis-side, you could store SDIFFSTORE into a temp key, then SRANDMEMBER from that key.
+     * Samples up to 'count' random unseen IDs inside Redis; only the sampled IDs cross the wire.
+     * The script draws SRANDMEMBER batches from the level pool and filters them against the user's assigned
+     * words. If the pool is mostly assigned it falls back to storing the difference in a short-lived
+     * temp key and SRANDMEMBER from there. With the set encoding that difference is exact, so the result stays a
+     * uniform sample; with the bitmap encoding it covers at most {@code redis.unseen.max-scan} pool members.
      */
     public List<Long> getRandomUnseenWordsForUser(UUID userId, String level, String language, int count) {
-        List<Long> unseen = getUnseenWordsForUser(userId, level, language);
-        if (unseen.isEmpty()) return List.of();
-        if (unseen.size() <= count) return unseen;
+        if (count <= 0) return List.of();
+        List<String> sampled = guard.read("unseen.sample", () -> redisTemplate.execute(SAMPLE_UNSEEN_SCRIPT,
+                assignedScriptKeys(userId, level, language),
+                assignedEncoding.arg(), String.valueOf(count), String.valueOf(SAMPLE_MAX_ROUNDS),
+                String.valueOf(unseenMaxScan)), List::of);
+        if (sampled == null || sampled.isEmpty()) return List.of();
+        return sampled.stream().map(Long::valueOf).toList();
+    }
 
-        // random sample locally
-        Collections.shuffle(unseen);
-        return unseen.subList(0, count);
+    // all four share the hash tag of the user's pool replica, see RedisKeyLayout
+    private List<String> assignedScriptKeys(UUID userId, String level, String language) {
+        return List.of(
+                layout.levelWordIds(userId, level, language),
+                layout.userAssigned(userId, level, language),
+                layout.unseenTmp(userId, level, language),
+                layout.userAssignedBits(userId, level, language));
     }
 
     /**
      * Prime the level's global pool (idempotent). You can call this at boot or when you ingest new words.
-     * This set holds ALL word IDs for that CEFR level and language, independent of user.
+     * This set holds ALL word IDs for that CEFR level and language, independent of user; every pool replica gets them.
      */
     public void addLevelWordIds(String level, String language, Collection<Long> wordIds) {
         if (wordIds == null || wordIds.isEmpty()) return;
-        String levelKey = kLevelWordIds(level, language);
         String[] arr = wordIds.stream().map(String::valueOf).toArray(String[]::new);
-        redisTemplate.opsForSet().add(levelKey, arr);
+        guard.write("levelPool.add", null, () -> pipeline(ops -> {
+            for (String key : layout.levelWordIdsReplicas(level, language)) ops.opsForSet().add(key, arr);
+        }));
+    }
+
+    public record LevelPool(String level, String language) {}
+
+    /**
+     * Bulk variant for the warm-up: all pools of a chunk in one pipelined round trip, SADD with at most
+     * 1000 members per command.
+     */
+    public void addLevelWordIds(Map<LevelPool, ? extends Collection<Long>> idsByPool) {
+        if (idsByPool.isEmpty()) return;
+        guard.write("levelPool.add", null, () -> pipeline(ops -> idsByPool.forEach((pool, ids) -> {
+            List<String> members = ids.stream().map(String::valueOf).toList();
+            for (String key : layout.levelWordIdsReplicas(pool.level(), pool.language())) {
+                for (int from = 0; from < members.size(); from += 1000) {
+                    List<String> slice = members.subList(from, Math.min(from + 1000, members.size()));
+                    ops.opsForSet().add(key, slice.toArray(String[]::new));
+                }
+            }
+        })));
     }
 
     /**
      * Mark words as assigned to a user in Redis (so future calls exclude them).
      * Call this whenever you assign words to the user in DB.
+     * Depending on redis.assigned-encoding this is one SADD or one pipelined batch of SETBITs.
      */
     public void addUserAssignedWords(UUID userId, String level, String language, Collection<Long> wordIds) {
         if (wordIds == null || wordIds.isEmpty()) return;
-        String userKey = kUserAssigned(userId, level, language);
+        guard.write("assigned.add", null, () -> writeUserAssignedWords(userId, level, language, wordIds));
+    }
+
+    private void writeUserAssignedWords(UUID userId, String level, String language, Collection<Long> wordIds) {
+        if (wordIds.isEmpty()) return;
+        if (assignedEncoding == AssignedEncoding.BITMAP) {
+            setAssignedBits(layout.userAssignedBits(userId, level, language), wordIds, true);
+            return;
+        }
+        String userKey = layout.userAssigned(userId, level, language);
         String[] arr = wordIds.stream().map(String::valueOf).toArray(String[]::new);
         redisTemplate.opsForSet().add(userKey, arr);
         // generally no TTL for this set; it's a long-lived mirror of DB assignment
@@ -161,45 +542,372 @@ public class RedisService {
      */
     public void removeUserAssignedWords(UUID userId, String level, String language, Collection<Long> wordIds) {
         if (wordIds == null || wordIds.isEmpty()) return;
-        String userKey = kUserAssigned(userId, level, language);
+        String userKey = layout.userAssigned(userId, level, language);
         String[] arr = wordIds.stream().map(String::valueOf).toArray(String[]::new);
-        redisTemplate.opsForSet().remove(userKey, (Object[]) arr);
+        guard.write("assigned.remove", null, () -> {
+            redisTemplate.opsForSet().remove(userKey, (Object[]) arr);
+            if (assignedEncoding == AssignedEncoding.BITMAP) {
+                setAssignedBits(layout.userAssignedBits(userId, level, language), wordIds, false);
+            }
+        });
+    }
+
+    public boolean isUserAssignedWord(UUID userId, String level, String language, Long wordId) {
+        return guard.read("assigned.check", () -> {
+            if (assignedEncoding == AssignedEncoding.BITMAP
+                    && Boolean.TRUE.equals(redisTemplate.opsForValue().getBit(layout.userAssignedBits(userId, level, language), wordId))) {
+                return true;
+            }
+            return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(layout.userAssigned(userId, level, language), String.valueOf(wordId)));
+        }, () -> false);
+    }
+
+    /**
+     * Bulk load of the user's assigned mirror from the DB (first use, or after a Redis flush), plus the sync
+     * marker, in one script. The ids are merged into whatever the mirror holds instead of replacing it:
+     * assignments are mirrored after commit, so anything already there is real, and a word another request
+     * assigned after our DB read is not lost.
+     */
+    public void loadUserAssignedFromDb(UUID userId, String level, String language, Collection<Long> dbAssignedIds) {
+        List<String> args = new ArrayList<>(dbAssignedIds.size() + 1);
+        args.add(assignedEncoding.arg());
+        dbAssignedIds.forEach(id -> args.add(String.valueOf(id)));
+        // not replayed: without the marker the next request rebuilds anyway
+        guard.write("assigned.rebuild", () -> redisTemplate.execute(LOAD_ASSIGNED_SCRIPT,
+                List.of(layout.userAssigned(userId, level, language),
+                        layout.userAssignedBits(userId, level, language),
+                        layout.userAssignedSynced(userId, level, language)),
+                args.toArray()));
+    }
+
+    /**
+     * False when the assigned mirror was never loaded from the DB on this Redis (new user, or after a flush).
+     * Reading the mirror in that state would offer words the user already has.
+     */
+    public boolean isUserAssignedMirrorLoaded(UUID userId, String level, String language) {
+        return guard.read("assigned.synced",
+                () -> Boolean.TRUE.equals(redisTemplate.hasKey(layout.userAssignedSynced(userId, level, language))), () -> false);
     }
 
     /**
-     * Optional: bulk load user assigned set (e.g., first time cache warm-up from DB).
-     * You can call this from a service if you detect the user set is missing.
+     * Converts one legacy assigned set into the bitmap encoding atomically. Returns the number of migrated ids.
      */
-    public void replaceUserAssignedFromDb(UUID userId, String level, String language, Collection<Long> dbAssignedIds) {
-        String userKey = kUserAssigned(userId, level, language);
-        redisTemplate.delete(userKey);
-        addUserAssignedWords(userId, level, language, dbAssignedIds);
+    public long migrateUserAssignedToBitmap(String assignedSetKey) {
+        if (!assignedSetKey.endsWith(":assigned")) {
+            throw new IllegalArgumentException("Not an assigned-words key: " + assignedSetKey);
+        }
+        Long migrated = redisTemplate.execute(MIGRATE_ASSIGNED_SCRIPT, List.of(assignedSetKey, assignedSetKey + "Bits"));
+        return migrated == null ? 0 : migrated;
+    }
+
+    /**
+     * Iterates all legacy assigned sets with SCAN (never KEYS) and hands each key to the consumer.
+     */
+    public void scanUserAssignedSetKeys(Consumer<String> consumer) {
+        scanKeys("user:*:assigned", consumer);
+    }
+
+    /**
+     * SCAN over all keys matching {@code pattern}. On a cluster every master is scanned in turn, since a
+     * cursor only covers one node.
+     */
+    public void scanKeys(String pattern, Consumer<String> consumer) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(1000).build();
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            if (connection instanceof RedisClusterConnection cluster) {
+                for (RedisClusterNode node : cluster.clusterGetNodes()) {
+                    if (!node.isMaster()) continue;
+                    try (Cursor<byte[]> cursor = cluster.scan(node, options)) {
+                        cursor.forEachRemaining(key -> consumer.accept(new String(key, StandardCharsets.UTF_8)));
+                    }
+                }
+            } else {
+                try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                    cursor.forEachRemaining(key -> consumer.accept(new String(key, StandardCharsets.UTF_8)));
+                }
+            }
+            return null;
+        });
+    }
+
+    private void setAssignedBits(String key, Collection<Long> wordIds, boolean value) {
+        pipeline(ops -> {
+            for (Long id : wordIds) ops.opsForValue().setBit(key, id, value);
+        });
+    }
+
+    public long getLevelPoolSize(String level, String language) {
+        Long size = guard.read("levelPool.size", () -> redisTemplate.opsForSet().size(layout.levelWordIdsReplicas(level, language).getFirst()), () -> null);
+        return size == null ? 0 : size;
+    }
+
+    /**
+     * Flags a (level, language) pool that could not fill a request; the refill worker picks it up.
+     */
+    public void markPoolStarved(String level, String language) {
+        guard.write("levelPool.starved", () -> redisTemplate.opsForSet().add(kStarvedPools(), level + ":" + language));
+    }
+
+    /**
+     * Returns and clears the starved pools as "level:language" entries.
+     */
+    public Set<String> popStarvedPools() {
+        List<String> starved = guard.read("levelPool.starved", () -> redisTemplate.opsForSet().pop(kStarvedPools(), Long.MAX_VALUE), () -> null);
+        return starved == null ? Set.of() : new HashSet<>(starved);
+    }
+
+    /** Unseen words requested from a pool and how many of them the pool could serve, since the last pop. */
+    public record PoolSupply(long requested, long served) {
+        public double servedRatio() {
+            return requested == 0 ? 1 : (double) served / requested;
+        }
+    }
+
+    /**
+     * Records one sampling outcome of a (level, language) pool: {@code requested} unseen words asked for,
+     * {@code served} returned by Redis. The pool only ever grows, so this is what tells the refill worker
+     * that users are running out of fresh words.
+     */
+    public void recordPoolSupply(String level, String language, int requested, int served) {
+        if (requested <= 0) return;
+        String key = kPoolSupply(level, language);
+        guard.write("levelPool.supply", () -> pipeline(ops -> {
+            ops.opsForHash().increment(key, "requested", requested);
+            ops.opsForHash().increment(key, "served", served);
+        }));
+    }
+
+    /** Returns and resets the supply counters of a pool. */
+    public PoolSupply popPoolSupply(String level, String language) {
+        List<String> fields = guard.read("levelPool.supply",
+                () -> redisTemplate.execute(POP_HASH_SCRIPT, List.of(kPoolSupply(level, language))), () -> null);
+        if (fields == null || fields.isEmpty()) return new PoolSupply(0, 0);
+        long requested = 0, served = 0;
+        for (int i = 0; i + 1 < fields.size(); i += 2) {
+            if ("requested".equals(fields.get(i))) requested = Long.parseLong(fields.get(i + 1));
+            else if ("served".equals(fields.get(i))) served = Long.parseLong(fields.get(i + 1));
+        }
+        return new PoolSupply(requested, served);
     }
 
     /* =========================
-       Utils for generic list caching (optional reuse)
+       Paragraph buffer: demand per combination, ready paragraph ids, refill rate
        ========================= */
 
-    public <T> void saveList(String key, List<T> list, Duration ttl) {
+    /** Counts one request for a "level:length:topic" combination in the current hourly bucket. */
+    public void recordParagraphDemand(String combination, Duration window) {
+        String bucket = layout.paragraphDemand(currentHour());
+        guard.write("paragraphDemand.record", () -> pipeline(ops -> {
+            ops.opsForZSet().incrementScore(bucket, combination, 1);
+            ops.expire(bucket, window.plusHours(1));
+        }));
+    }
+
+    /**
+     * Combinations requested at least {@code minDemand} times in the window, most demanded first. An hourly
+     * bucket counts half as much per {@code halfLife} of age, so popularity follows recent traffic.
+     * Empty while Redis is unavailable.
+     */
+    public List<String> topParagraphDemand(Duration window, Duration halfLife, double minDemand, int limit) {
+        long hour = currentHour();
+        int hours = (int) Math.max(1, window.toHours());
+        List<String> buckets = new ArrayList<>(hours);
+        double[] weights = new double[hours];
+        for (int age = 0; age < hours; age++) {
+            buckets.add(layout.paragraphDemand(hour - age));
+            weights[age] = Math.pow(0.5, age / (double) Math.max(1, halfLife.toHours()));
+        }
+        String union = layout.paragraphDemandWindow();
+        Set<String> top = guard.read("paragraphDemand.top", () -> {
+            redisTemplate.opsForZSet().unionAndStore(buckets.getFirst(), buckets.subList(1, hours), union,
+                    Aggregate.SUM, Weights.of(weights));
+            return redisTemplate.opsForZSet().reverseRangeByScore(union, minDemand, Double.POSITIVE_INFINITY, 0, limit);
+        }, () -> null);
+        return top == null ? List.of() : new ArrayList<>(top);
+    }
+
+    public void pushBufferedParagraph(String combination, long paragraphId) {
+        guard.write("paragraphBuffer.push", () -> redisTemplate.opsForList().rightPush(kParagraphBuffer(combination), String.valueOf(paragraphId)));
+    }
+
+    /** Takes the oldest ready paragraph id; null when the buffer is empty or Redis is unavailable. */
+    public Long popBufferedParagraph(String combination) {
+        String id = guard.read("paragraphBuffer.pop", () -> redisTemplate.opsForList().leftPop(kParagraphBuffer(combination)), () -> null);
+        return id == null ? null : Long.valueOf(id);
+    }
+
+    public long bufferedParagraphCount(String combination) {
+        Long size = guard.read("paragraphBuffer.size", () -> redisTemplate.opsForList().size(kParagraphBuffer(combination)), () -> null);
+        return size == null ? 0 : size;
+    }
+
+    /**
+     * Fixed-window rate limit shared by all nodes: true while fewer than {@code limit} permits were taken in
+     * the current {@code window}. Never grants a permit while Redis is unavailable.
+     */
+    public boolean tryConsumeRate(String name, long limit, Duration window) {
+        String key = kRate(name, System.currentTimeMillis() / window.toMillis());
+        Long taken = guard.read("rate.consume", () -> {
+            Long count = redisTemplate.opsForValue().increment(key);
+            if (count != null && count == 1) redisTemplate.expire(key, window.multipliedBy(2));
+            return count;
+        }, () -> null);
+        return taken != null && taken <= limit;
+    }
+
+    private static long currentHour() {
+        return System.currentTimeMillis() / Duration.ofHours(1).toMillis();
+    }
+
+    /* =========================
+       Translations (positive and negative entries)
+       ========================= */
+
+    /**
+     * Cached result of a translation lookup; {@code word} is null for a cached "source word not found".
+     */
+    public record CachedTranslation(WordDto word) {
+        public boolean isMiss() { return word == null; }
+    }
+
+    public Optional<CachedTranslation> getCachedTranslation(String sourceLang, String targetLang, String word) {
+        String key = kTranslation(sourceLang, targetLang, word);
+        try {
+            String json = guard.read("translation.get", () -> redisTemplate.opsForValue().get(key),
+                    () -> guard.recall(key, String.class));
+            if (json == null) return Optional.empty();
+            guard.remember(key, json);
+            if (TRANSLATION_MISS.equals(json)) return Optional.of(new CachedTranslation(null));
+            return Optional.of(new CachedTranslation(mapper.readValue(json, WordDto.class)));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    public void cacheTranslation(String sourceLang, String targetLang, String word, WordDto translated) {
+        String key = kTranslation(sourceLang, targetLang, word);
+        String json;
+        try {
+            json = mapper.writeValueAsString(translated);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to cache translation of " + word, e);
+        }
+        guard.remember(key, json);
+        guard.write("translation.save", () -> redisTemplate.opsForValue().set(key, json, translationTtl));
+    }
+
+    public void cacheTranslationMiss(String sourceLang, String targetLang, String word) {
+        String key = kTranslation(sourceLang, targetLang, word);
+        guard.write("translation.save", () -> redisTemplate.opsForValue().set(key, TRANSLATION_MISS, translationNegativeTtl));
+    }
+
+    /**
+     * One MGET for a list of words. Only words with a cached entry (positive or negative) are in the result.
+     */
+    public Map<String, CachedTranslation> getCachedTranslations(String sourceLang, String targetLang, List<String> words) {
+        if (words.isEmpty()) return Map.of();
+        List<String> keys = words.stream().map(w -> kTranslation(sourceLang, targetLang, w)).toList();
+        List<String> values = guard.read("translation.get", () -> redisTemplate.opsForValue().multiGet(keys),
+                () -> keys.stream().map(k -> guard.recall(k, String.class)).toList());
+        Map<String, CachedTranslation> result = new HashMap<>();
+        for (int i = 0; values != null && i < words.size(); i++) {
+            String json = values.get(i);
+            if (json == null) continue;
+            if (TRANSLATION_MISS.equals(json)) {
+                result.put(words.get(i), new CachedTranslation(null));
+                continue;
+            }
+            try {
+                result.put(words.get(i), new CachedTranslation(mapper.readValue(json, WordDto.class)));
+            } catch (Exception e) {
+                // unreadable entry counts as a miss and gets overwritten
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes resolved translations and "not found" entries in one pipelined round trip.
+     */
+    public void cacheTranslations(String sourceLang, String targetLang, Map<String, WordDto> translated, Collection<String> notFound) {
+        if (translated.isEmpty() && notFound.isEmpty()) return;
+        Map<String, String> values = new HashMap<>();
         try {
-            redisTemplate.opsForValue().set(key, mapper.writeValueAsString(list), ttl);
+            for (Map.Entry<String, WordDto> e : translated.entrySet()) {
+                values.put(kTranslation(sourceLang, targetLang, e.getKey()), mapper.writeValueAsString(e.getValue()));
+            }
         } catch (Exception e) {
-            throw new RuntimeException("Failed to save list to Redis for key " + key, e);
+            throw new RuntimeException("Failed to cache translations", e);
         }
+        values.forEach(guard::remember);
+        guard.write("translation.save", () -> pipeline(ops -> {
+            values.forEach((key, json) -> ops.opsForValue().set(key, json, translationTtl));
+            for (String word : notFound) {
+                ops.opsForValue().set(kTranslation(sourceLang, targetLang, word), TRANSLATION_MISS, translationNegativeTtl);
+            }
+        }));
+    }
+
+    /* =========================
+       Leases (cross-node mutual exclusion for background jobs)
+       ========================= */
+
+    /**
+     * SET NX with expiry. The owner token must be passed to {@link #releaseLease} so a node never releases
+     * a lease that expired and was taken over by another node. Never granted while Redis is unavailable.
+     */
+    public boolean tryAcquireLease(String name, String owner, Duration ttl) {
+        return guard.read("lease.acquire",
+                () -> Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(kLease(name), owner, ttl)), () -> false);
+    }
+
+    // a lease that cannot be released just runs out its TTL
+    public void releaseLease(String name, String owner) {
+        guard.write("lease.release", () -> redisTemplate.execute(RELEASE_LEASE_SCRIPT, List.of(kLease(name)), owner));
+    }
+
+    /* =========================
+       Pipelining
+       ========================= */
+
+    /**
+     * Runs all commands issued on {@code ops} in one pipelined round trip and returns their replies in order.
+     * Replies are only available through the returned list, not from the calls inside the callback.
+     */
+    public List<Object> pipeline(Consumer<RedisOperations<String, String>> commands) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, String>) operations);
+                return null;
+            }
+        });
+    }
+
+    /* =========================
+       Utils for generic list caching (optional reuse)
+       ========================= */
+
+    public <T> void saveList(String key, List<T> list, Duration ttl) {
+        byte[] value = codec.encode(list);
+        guard.remember(key, value);
+        guard.write("list.save", () -> binaryRedisTemplate.opsForValue().set(key, value, ttl));
     }
 
     public <T> List<T> getList(String key, Class<T> clazz) {
         try {
-            String json = redisTemplate.opsForValue().get(key);
-            if (json == null) return null;
-            T[] arr = mapper.readValue(json, mapper.getTypeFactory().constructArrayType(clazz));
-            return Arrays.asList(arr);
+            byte[] value = guard.read("list.get", () -> binaryRedisTemplate.opsForValue().get(key),
+                    () -> guard.recall(key, byte[].class));
+            if (value == null) return null;
+            return codec.decodeList(value, clazz);
         } catch (Exception e) {
             return null;
         }
     }
 
     public void invalidate(String key) {
-        redisTemplate.delete(key);
+        guard.forget(key);
+        guard.write("invalidate", key, () -> redisTemplate.delete(key));
     }
 }
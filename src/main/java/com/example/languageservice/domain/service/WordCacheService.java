@@ -0,0 +1,300 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.WordDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for hydrated {@link WordDto}s.
+ * L1 is a bounded in-heap Caffeine cache (W-TinyLFU admission/eviction), L2 is Redis holding a compact
+ * positional JSON array per word. Writers call {@link #evict(Collection)} and every node drops its L1 copy
+ * through the Redis pub/sub invalidation channel.
+ * <p>
+ * A reader that loaded a word before a writer committed must not put it back after the eviction. Every
+ * eviction seen by this node bumps a generation and stamps the evicted ids; a reader only fills the tiers
+ * for ids not stamped since it started. Readers on other nodes only learn about the eviction when the
+ * broadcast arrives, so the writer repeats the L2 eviction once more after {@code second-eviction-delay}.
+ * Callers get their own copies, never the instances held in L1.
+ */
+@Service
+public class WordCacheService implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(WordCacheService.class);
+    private static final String CACHE_NAME = "words";
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+    private static final TypeReference<Map<String, String>> STRING_MAP = new TypeReference<>() {};
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisGuard redisGuard;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, WordDto> l1;
+    private final Duration l2Ttl;
+    private final Duration secondEvictionDelay;
+    private final String invalidationChannel;
+    // messages published by this node are ignored on receipt, L1 is already clean
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong generation = new AtomicLong();
+    // id -> generation of its last eviction, kept long enough to outlive any in-flight load
+    private final Cache<Long, Long> evictedAt;
+
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Evictions;
+    private final Counter remoteInvalidations;
+
+    public WordCacheService(RedisTemplate<String, String> redisTemplate,
+                            RedisGuard redisGuard,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            RedisMessageListenerContainer listenerContainer,
+                            @Value("${word-cache.l1-max-size:20000}") long l1MaxSize,
+                            @Value("${word-cache.l2-ttl:6h}") Duration l2Ttl,
+                            @Value("${word-cache.second-eviction-delay:2s}") Duration secondEvictionDelay,
+                            @Value("${word-cache.invalidation-channel:words:invalidate}") String invalidationChannel) {
+        this.redisTemplate = redisTemplate;
+        this.redisGuard = redisGuard;
+        this.objectMapper = objectMapper;
+        this.l2Ttl = l2Ttl;
+        this.secondEvictionDelay = secondEvictionDelay;
+        this.invalidationChannel = invalidationChannel;
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .recordStats()
+                .build();
+        this.evictedAt = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size ... tagged tier=l1
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, CACHE_NAME, "tier", "l1");
+        this.l2Hits = Counter.builder("cache.gets").tags("cache", CACHE_NAME, "tier", "l2", "result", "hit")
+                .register(meterRegistry);
+        this.l2Misses = Counter.builder("cache.gets").tags("cache", CACHE_NAME, "tier", "l2", "result", "miss")
+                .register(meterRegistry);
+        this.l2Evictions = Counter.builder("cache.evictions").tags("cache", CACHE_NAME, "tier", "l2")
+                .register(meterRegistry);
+        this.remoteInvalidations = Counter.builder("cache.invalidations.remote").tags("cache", CACHE_NAME, "tier", "l1")
+                .register(meterRegistry);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(invalidationChannel));
+    }
+
+    private String kWord(Long wordId) { return "wordDto:" + wordId; }
+
+    /**
+     * Returns the words for the given ids in request order: L1 first, then one Redis MGET for the rest,
+     * then the loader for whatever is still missing. Loaded words are written back to both tiers unless
+     * they were evicted while this call was loading them.
+     */
+    public List<WordDto> getAll(Collection<Long> wordIds, Function<Collection<Long>, List<WordDto>> loader) {
+        if (wordIds == null || wordIds.isEmpty()) return List.of();
+        Set<Long> ids = new LinkedHashSet<>(wordIds);
+        long startGeneration = generation.get();
+
+        Map<Long, WordDto> found = new HashMap<>();
+        l1.getAllPresent(ids).forEach((id, dto) -> found.put(id, copy(dto)));
+        List<Long> l1Missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+
+        List<Long> l2Missing = new ArrayList<>();
+        if (!l1Missing.isEmpty()) {
+            List<String> values = readL2(l1Missing);
+            for (int i = 0; i < l1Missing.size(); i++) {
+                Long id = l1Missing.get(i);
+                WordDto dto = values == null ? null : decode(values.get(i));
+                if (dto != null) {
+                    found.put(id, dto);
+                    if (!evictedSince(id, startGeneration)) l1.put(id, copy(dto));
+                } else {
+                    l2Missing.add(id);
+                }
+            }
+            l2Hits.increment(l1Missing.size() - l2Missing.size());
+            l2Misses.increment(l2Missing.size());
+        }
+
+        if (!l2Missing.isEmpty()) {
+            List<WordDto> loaded = loader.apply(l2Missing);
+            List<WordDto> cacheable = new ArrayList<>(loaded.size());
+            for (WordDto dto : loaded) {
+                found.put(dto.getId(), dto);
+                if (!evictedSince(dto.getId(), startGeneration)) {
+                    l1.put(dto.getId(), copy(dto));
+                    cacheable.add(dto);
+                }
+            }
+            writeL2(cacheable);
+        }
+
+        return ids.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Drops the given words from both tiers on every node. Inside a transaction the eviction runs
+     * after commit so that no node can re-cache the pre-commit state, and repeats once after
+     * {@code second-eviction-delay} to drop anything a concurrent reader on another node wrote back.
+     */
+    public void evict(Collection<Long> wordIds) {
+        if (wordIds == null || wordIds.isEmpty()) return;
+        List<Long> ids = List.copyOf(wordIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictTwice(ids);
+                }
+            });
+        } else {
+            evictTwice(ids);
+        }
+    }
+
+    private void evictTwice(List<Long> ids) {
+        doEvict(ids);
+        if (secondEvictionDelay.isZero()) return;
+        CompletableFuture.runAsync(() -> doEvict(ids),
+                CompletableFuture.delayedExecutor(secondEvictionDelay.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private void doEvict(List<Long> ids) {
+        markEvicted(ids);
+        l1.invalidateAll(ids);
+        // replayed after a Redis outage, otherwise stale L2 entries would outlive it until their TTL
+        redisGuard.write("wordCache.evict", null, () -> {
+            Long deleted = redisTemplate.delete(ids.stream().map(this::kWord).toList());
+            if (deleted != null) l2Evictions.increment(deleted);
+            StringJoiner message = new StringJoiner(",", nodeId + "|", "");
+            ids.forEach(id -> message.add(String.valueOf(id)));
+            redisTemplate.convertAndSend(invalidationChannel, message.toString());
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('|');
+        if (separator < 0 || body.substring(0, separator).equals(nodeId)) return;
+
+        List<Long> ids = Arrays.stream(body.substring(separator + 1).split(","))
+                .filter(s -> !s.isBlank())
+                .map(Long::valueOf)
+                .toList();
+        markEvicted(ids);
+        l1.invalidateAll(ids);
+        remoteInvalidations.increment(ids.size());
+    }
+
+    private void markEvicted(List<Long> ids) {
+        long stamp = generation.incrementAndGet();
+        ids.forEach(id -> evictedAt.put(id, stamp));
+    }
+
+    private boolean evictedSince(Long id, long startGeneration) {
+        Long stamp = evictedAt.getIfPresent(id);
+        return stamp != null && stamp > startGeneration;
+    }
+
+    private static WordDto copy(WordDto dto) {
+        return WordDto.builder()
+                .id(dto.getId())
+                .word(dto.getWord())
+                .language(dto.getLanguage())
+                .level(dto.getLevel())
+                .partOfSpeech(dto.getPartOfSpeech())
+                .forms(dto.getForms() == null ? null : new ArrayList<>(dto.getForms()))
+                .conjugations(dto.getConjugations() == null ? null : new LinkedHashMap<>(dto.getConjugations()))
+                .examples(dto.getExamples() == null ? null : new ArrayList<>(dto.getExamples()))
+                .tips(dto.getTips() == null ? null : new ArrayList<>(dto.getTips()))
+                .synonyms(dto.getSynonyms() == null ? null : new ArrayList<>(dto.getSynonyms()))
+                .antonyms(dto.getAntonyms() == null ? null : new ArrayList<>(dto.getAntonyms()))
+                .build();
+    }
+
+    // null while Redis is unavailable: every id then counts as an L2 miss and goes to the DB
+    private List<String> readL2(List<Long> ids) {
+        return redisGuard.read("wordCache.read",
+                () -> redisTemplate.opsForValue().multiGet(ids.stream().map(this::kWord).toList()), () -> null);
+    }
+
+    private void writeL2(List<WordDto> words) {
+        if (words.isEmpty()) return;
+        // best effort: a skipped fill is just an L2 miss later
+        redisGuard.write("wordCache.write", () -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (WordDto dto : words) {
+                    String value = encode(dto);
+                    if (value != null) ops.opsForValue().set(kWord(dto.getId()), value, l2Ttl);
+                }
+                return null;
+            }
+        }));
+    }
+
+    /* =========================
+       Compact L2 form: [id, word, language, level, partOfSpeech, forms, conjugations, examples, tips, synonyms, antonyms]
+       ========================= */
+
+    private String encode(WordDto dto) {
+        try {
+            return objectMapper.writeValueAsString(new Object[]{
+                    dto.getId(), dto.getWord(), dto.getLanguage(), dto.getLevel(), dto.getPartOfSpeech(),
+                    dto.getForms(), dto.getConjugations(), dto.getExamples(), dto.getTips(),
+                    dto.getSynonyms(), dto.getAntonyms()
+            });
+        } catch (Exception e) {
+            log.warn("Failed to encode word {} for cache", dto.getId(), e);
+            return null;
+        }
+    }
+
+    private WordDto decode(String value) {
+        if (value == null) return null;
+        try {
+            JsonNode a = objectMapper.readTree(value);
+            return WordDto.builder()
+                    .id(a.get(0).asLong())
+                    .word(a.get(1).asText(null))
+                    .language(a.get(2).asText(null))
+                    .level(a.get(3).asText(null))
+                    .partOfSpeech(a.get(4).asText(null))
+                    .forms(objectMapper.convertValue(a.get(5), STRING_LIST))
+                    .conjugations(objectMapper.convertValue(a.get(6), STRING_MAP))
+                    .examples(objectMapper.convertValue(a.get(7), STRING_LIST))
+                    .tips(objectMapper.convertValue(a.get(8), STRING_LIST))
+                    .synonyms(objectMapper.convertValue(a.get(9), STRING_LIST))
+                    .antonyms(objectMapper.convertValue(a.get(10), STRING_LIST))
+                    .build();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
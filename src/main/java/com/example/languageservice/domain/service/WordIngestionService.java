@@ -0,0 +1,211 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.WordDto;
+import com.example.languageservice.domain.index.InflectionIndex;
+import com.example.languageservice.domain.index.WordSuggestIndex;
+import com.example.languageservice.domain.model.*;
+import com.example.languageservice.domain.repository.*;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Persists LLM-generated word aggregates in bulk.
+ * Every table is deduplicated with one set-based query for the whole batch, new rows are persisted with
+ * sequence-allocated ids so Hibernate sends them as JDBC batches (see hibernate.jdbc.batch_size).
+ * Every word of the batch, including synonyms and antonyms created on the way, is registered with the
+ * inflection and suggest indexes and the Redis level pools once the transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class WordIngestionService {
+
+    // position of a form in WordDto.forms → word_forms.type
+    private static final List<String> FORM_TYPES = List.of("V2", "V3", "FUTURE");
+
+    private final WordRepository wordRepository;
+    private final WordFormRepository wordFormRepository;
+    private final WordConjugationRepository wordConjugationRepository;
+    private final WordRelationRepository wordRelationRepository;
+    private final LanguageRepository languageRepository;
+    private final InflectionIndex inflectionIndex;
+    private final WordSuggestIndex wordSuggestIndex;
+    private final RedisService redisService;
+    private final EntityManager entityManager;
+
+    /**
+     * Stores the given words with their forms, conjugations, synonyms and antonyms.
+     * Words that already exist are reused. Returns the persisted id of each input word, in input order,
+     * and sets it on the DTO.
+     */
+    @Transactional
+    public List<Long> ingest(List<WordDto> words) {
+        if (words == null || words.isEmpty()) return List.of();
+
+        // 1. Languages, one query
+        Set<String> codes = words.stream().map(WordDto::getLanguage).collect(Collectors.toSet());
+        Map<String, Language> languages = languageRepository.findByCodeIn(codes).stream()
+                .collect(Collectors.toMap(Language::getCode, l -> l));
+        for (String code : codes) {
+            if (!languages.containsKey(code)) {
+                throw new IllegalArgumentException("Language not supported: " + code);
+            }
+        }
+
+        // 2. Words incl. synonyms/antonyms, dedup with one query
+        Map<WordKey, Word> wordsByKey = new HashMap<>();
+        Set<String> candidates = new HashSet<>();
+        for (WordDto dto : words) {
+            candidates.add(dto.getWord());
+            candidates.addAll(orEmpty(dto.getSynonyms()));
+            candidates.addAll(orEmpty(dto.getAntonyms()));
+        }
+        for (Word existing : wordRepository.findByWordInAndLanguageCodeIn(candidates, codes)) {
+            wordsByKey.putIfAbsent(new WordKey(existing.getWord(), existing.getLanguage().getCode()), existing);
+        }
+
+        List<Long> ids = new ArrayList<>(words.size());
+        List<Word> created = new ArrayList<>();
+        for (WordDto dto : words) {
+            Language language = languages.get(dto.getLanguage());
+            LanguageLevel level = LanguageLevel.valueOf(dto.getLevel());
+            Word word = wordOf(wordsByKey, dto.getWord(), language, level, created);
+            orEmpty(dto.getSynonyms()).forEach(w -> wordOf(wordsByKey, w, language, level, created));
+            orEmpty(dto.getAntonyms()).forEach(w -> wordOf(wordsByKey, w, language, level, created));
+            // sequence ids are assigned on persist, no flush needed to read them
+            dto.setId(word.getId());
+            ids.add(word.getId());
+        }
+
+        // 3. Forms and conjugations: same global uniqueness per form as before, one query per table
+        Set<String> existingForms = new HashSet<>(wordFormRepository.findExistingForms(
+                words.stream().flatMap(d -> orEmpty(d.getForms()).stream()).collect(Collectors.toSet())));
+        Set<String> existingConjugations = new HashSet<>(wordConjugationRepository.findExistingForms(
+                words.stream().flatMap(d -> orEmpty(d.getConjugations()).values().stream()).collect(Collectors.toSet())));
+
+        for (WordDto dto : words) {
+            Word word = entityManager.getReference(Word.class, dto.getId());
+            List<String> forms = orEmpty(dto.getForms());
+            for (int i = 0; i < forms.size(); i++) {
+                if (existingForms.add(forms.get(i))) {
+                    entityManager.persist(WordForm.builder()
+                            .word(word)
+                            .type(i < FORM_TYPES.size() ? FORM_TYPES.get(i) : "OTHER")
+                            .form(forms.get(i))
+                            .build());
+                }
+            }
+            orEmpty(dto.getConjugations()).forEach((person, form) -> {
+                if (existingConjugations.add(form)) {
+                    entityManager.persist(WordConjugation.builder()
+                            .word(word)
+                            .person(person)
+                            .form(form)
+                            .build());
+                }
+            });
+        }
+
+        // 4. Relations, dedup against what the (pre-existing) words already have
+        Set<RelationKey> existingRelations = wordRelationRepository.findByWordIdIn(new HashSet<>(ids)).stream()
+                .map(r -> new RelationKey(r.getWord().getId(), r.getRelatedWord().getId(), r.getRelationType()))
+                .collect(Collectors.toCollection(HashSet::new));
+        for (WordDto dto : words) {
+            Language language = languages.get(dto.getLanguage());
+            relate(dto.getId(), dto.getSynonyms(), "SYNONYM", language, wordsByKey, existingRelations);
+            relate(dto.getId(), dto.getAntonyms(), "ANTONYM", language, wordsByKey, existingRelations);
+        }
+
+        entityManager.flush();
+        register(words, created);
+        return ids;
+    }
+
+    /**
+     * Makes the batch visible to lookup, autocomplete and sampling: the input words with all their forms,
+     * plus the bare synonyms and antonyms that were created for them. The indexes defer to after commit
+     * themselves, the pool update is deferred here.
+     */
+    private void register(List<WordDto> words, List<Word> created) {
+        Set<Long> inputIds = new HashSet<>();
+        Map<RedisService.LevelPool, List<Long>> idsByPool = new HashMap<>();
+        for (WordDto dto : words) {
+            inflectionIndex.addWord(dto);
+            wordSuggestIndex.addWord(dto);
+            inputIds.add(dto.getId());
+            idsByPool.computeIfAbsent(new RedisService.LevelPool(dto.getLevel(), dto.getLanguage()),
+                    p -> new ArrayList<>()).add(dto.getId());
+        }
+        for (Word word : created) {
+            if (inputIds.contains(word.getId())) continue;
+            WordDto related = WordDto.builder()
+                    .id(word.getId())
+                    .word(word.getWord())
+                    .language(word.getLanguage().getCode())
+                    .level(word.getLevel().name())
+                    .build();
+            inflectionIndex.addWord(related);
+            wordSuggestIndex.addWord(related);
+            idsByPool.computeIfAbsent(new RedisService.LevelPool(related.getLevel(), related.getLanguage()),
+                    p -> new ArrayList<>()).add(related.getId());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    redisService.addLevelWordIds(idsByPool);
+                }
+            });
+        } else {
+            redisService.addLevelWordIds(idsByPool);
+        }
+    }
+
+    private Word wordOf(Map<WordKey, Word> wordsByKey, String text, Language language, LanguageLevel level,
+                        List<Word> created) {
+        return wordsByKey.computeIfAbsent(new WordKey(text, language.getCode()), key -> {
+            Word word = Word.builder()
+                    .word(text)
+                    .language(language)
+                    .level(level)
+                    .build();
+            entityManager.persist(word);
+            created.add(word);
+            return word;
+        });
+    }
+
+    private void relate(Long wordId, List<String> related, String type, Language language,
+                        Map<WordKey, Word> wordsByKey, Set<RelationKey> existing) {
+        for (String text : orEmpty(related)) {
+            Word relatedWord = wordsByKey.get(new WordKey(text, language.getCode()));
+            if (relatedWord.getId().equals(wordId)) continue; // chk_word_relation_not_self
+            if (existing.add(new RelationKey(wordId, relatedWord.getId(), type))) {
+                entityManager.persist(WordRelation.builder()
+                        .word(entityManager.getReference(Word.class, wordId))
+                        .relatedWord(relatedWord)
+                        .relationType(type)
+                        .build());
+            }
+        }
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+
+    private static Map<String, String> orEmpty(Map<String, String> map) {
+        return map == null ? Map.of() : map;
+    }
+
+    private record WordKey(String word, String languageCode) {}
+
+    private record RelationKey(Long wordId, Long relatedWordId, String type) {}
+}
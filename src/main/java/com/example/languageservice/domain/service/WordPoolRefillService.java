@@ -0,0 +1,138 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.WordDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Keeps the Redis level pools stocked with LLM-generated words so getRandomWords never waits on the LLM.
+ * The pools only ever grow, so their size says little about supply once bootstrapped. The signal is how
+ * much of what users asked for since the last check Redis could serve as unseen words
+ * ({@link RedisService#recordPoolSupply}). A pool is refilled when that share drops below
+ * {@code min-served-ratio}, when a request ran short and flagged it as starved, or while the pool is still
+ * below the bootstrap low-water mark. A Redis lease per pool makes sure only one node generates for it at a
+ * time. Starved flags this node could not act on are put back for the next run.
+ */
+@Service
+public class WordPoolRefillService {
+
+    private static final Logger log = LoggerFactory.getLogger(WordPoolRefillService.class);
+
+    private final RedisService redisService;
+    private final LlmService llmService;
+    private final WordIngestionService wordIngestionService;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> pools;
+    private final long lowWaterMark;
+    private final double minServedRatio;
+    private final int batchSize;
+    private final Duration lease;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public WordPoolRefillService(RedisService redisService,
+                                 LlmService llmService,
+                                 WordIngestionService wordIngestionService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${word-pool.pools:}") List<String> pools,
+                                 @Value("${word-pool.low-water-mark:500}") long lowWaterMark,
+                                 @Value("${word-pool.min-served-ratio:0.9}") double minServedRatio,
+                                 @Value("${word-pool.batch-size:100}") int batchSize,
+                                 @Value("${word-pool.lease:5m}") Duration lease) {
+        this.redisService = redisService;
+        this.llmService = llmService;
+        this.wordIngestionService = wordIngestionService;
+        this.meterRegistry = meterRegistry;
+        this.pools = new LinkedHashSet<>(pools);
+        this.pools.remove("");
+        this.lowWaterMark = lowWaterMark;
+        this.minServedRatio = minServedRatio;
+        this.batchSize = batchSize;
+        this.lease = lease;
+    }
+
+    @Scheduled(fixedDelayString = "${word-pool.check-interval:60s}", initialDelayString = "${word-pool.check-interval:60s}")
+    public void refillPools() {
+        // pool sizes would read as 0 and trigger generation for every pool
+        if (!redisService.isAvailable()) return;
+        Set<String> starved = redisService.popStarvedPools();
+        // popped flags this run has not acted on yet; put back at the end so the next run (on any node) retries
+        Set<String> unhandled = new HashSet<>(starved);
+        Set<String> candidates = new LinkedHashSet<>(starved);
+        candidates.addAll(pools);
+
+        for (String pool : candidates) {
+            String[] parts = pool.split(":", 2);
+            if (parts.length != 2) {
+                log.warn("Ignoring malformed word pool '{}', expected LEVEL:language", pool);
+                unhandled.remove(pool);
+                continue;
+            }
+            String level = parts[0];
+            String language = parts[1];
+            boolean handled = false;
+            try {
+                RedisService.PoolSupply supply = redisService.popPoolSupply(level, language);
+                if (starved.contains(pool)
+                        || supply.servedRatio() < minServedRatio
+                        || redisService.getLevelPoolSize(level, language) < lowWaterMark) {
+                    handled = refill(level, language);
+                } else {
+                    handled = true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.warn("Refill of word pool {} failed", pool, e);
+                counter("word.pool.refill.failures", level, language).increment();
+            }
+            if (handled) unhandled.remove(pool);
+        }
+
+        for (String pool : unhandled) {
+            String[] parts = pool.split(":", 2);
+            redisService.markPoolStarved(parts[0], parts[1]);
+        }
+    }
+
+    /** False when another node holds the lease, i.e. nothing was generated by this call. */
+    private boolean refill(String level, String language) throws Exception {
+        String leaseName = "wordPool:" + level + ":" + language;
+        if (!redisService.tryAcquireLease(leaseName, nodeId, lease)) {
+            log.debug("Word pool {}:{} is being refilled by another node", level, language);
+            return false;
+        }
+        try {
+            List<WordDto> words = llmService.generateWords(level, language, batchSize);
+            // the model does not always echo level/language back, the pool decides
+            words.forEach(w -> {
+                w.setLevel(level);
+                w.setLanguage(language);
+            });
+
+            // also registers the words with the indexes and the level pool
+            List<Long> ids = wordIngestionService.ingest(words);
+
+            counter("word.pool.refilled.words", level, language).increment(ids.size());
+            log.info("Refilled word pool {}:{} with {} words", level, language, ids.size());
+            return true;
+        } finally {
+            redisService.releaseLease(leaseName, nodeId);
+        }
+    }
+
+    private Counter counter(String name, String level, String language) {
+        return Counter.builder(name)
+                .tag("level", level)
+                .tag("language", language)
+                .register(meterRegistry);
+    }
+}
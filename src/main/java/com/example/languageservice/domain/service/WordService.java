@@ -1,23 +1,44 @@
 package com.example.languageservice.domain.service;
 
+import com.example.languageservice.api.dto.BatchTranslationResponse;
 import com.example.languageservice.api.dto.UserRandomWordRequest;
-import com.example.languageservice.api.dto.UserWordRequest;
 import com.example.languageservice.api.dto.WordDto;
+import com.example.languageservice.api.dto.WordSuggestion;
+import com.example.languageservice.domain.index.InflectionIndex;
+import com.example.languageservice.domain.index.SymmetricDeleteIndex;
+import com.example.languageservice.domain.index.WordSuggestIndex;
 import com.example.languageservice.domain.model.*;
 import com.example.languageservice.domain.repository.*;
+import com.example.languageservice.domain.utils.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static com.example.languageservice.security.SecurityUtils.getCurrentUserId;
 
@@ -33,57 +54,127 @@ public class WordService {
     private final WordRelationRepository wordRelationRepository;
     private final UserWordRepository userWordRepository;
     private final WordTranslationRepository wordTranslationRepository;
+    private final LanguageRepository languageRepository;
     private final RedisService redisService;
+    private final WordCacheService wordCacheService;
+    private final InflectionIndex inflectionIndex;
+    private final WordSuggestIndex wordSuggestIndex;
+    private final WordIngestionService wordIngestionService;
     private final LlmService llmService; // your AI client wrapper
     private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final SingleFlight<TranslationKey, WordDto> translationFlights = new SingleFlight<>();
+
+    @Value("${translation.cross-node-lock:false}")
+    private boolean crossNodeTranslationLock;
+
+    @Value("${translation.lock-lease:30s}")
+    private Duration translationLockLease = Duration.ofSeconds(30);
+
+    @Value("${translation.lock-wait:5s}")
+    private Duration translationLockWait = Duration.ofSeconds(5);
 
     // ---------------- 1. GET FULL WORD ----------------
     @Transactional(readOnly = true)
     public WordDto getFullWord(Long wordId) {
-        Word word = wordRepository.findById(wordId)
-                .orElseThrow(() -> new IllegalArgumentException("Word not found"));
-
-        return WordDto.builder()
-                .id(word.getId())
-                .word(word.getWord())
-                .language(word.getLanguage().getCode())
-                .level(word.getLevel().name())
-                .forms(wordFormRepository.findByWordId(wordId).stream().map(WordForm::getForm).toList())
-                .conjugations(wordConjugationRepository.findByWordId(wordId)
-                        .stream().collect(Collectors.toMap(WordConjugation::getPerson, WordConjugation::getForm)))
-                .examples(wordExampleRepository.findByWordId(wordId).stream().map(WordExample::getSentence).toList())
-                .tips(wordTipRepository.findByWordId(wordId).stream().map(WordTip::getTip).toList())
-                .synonyms(wordRelationRepository.findSynonyms(wordId).stream().map(Word::getWord).toList())
-                .antonyms(wordRelationRepository.findAntonyms(wordId).stream().map(Word::getWord).toList())
-                .build();
+        List<WordDto> words = getFullWords(List.of(wordId));
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Word not found");
+        }
+        return words.getFirst();
+    }
+
+    /**
+     * Hydrates any number of words, served from the two-tier word cache when possible.
+     * Result follows the order of the given ids; unknown ids are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<WordDto> getFullWords(Collection<Long> wordIds) {
+        return wordCacheService.getAll(wordIds, this::loadFullWords);
+    }
+
+    // Cache loader: a fixed number of set-based queries (one per table) instead of seven queries per word
+    private List<WordDto> loadFullWords(Collection<Long> wordIds) {
+        if (wordIds == null || wordIds.isEmpty()) return List.of();
+        Set<Long> ids = new LinkedHashSet<>(wordIds);
+
+        Map<Long, Word> words = wordRepository.findAllWithLanguageByIdIn(ids).stream()
+                .collect(Collectors.toMap(Word::getId, Function.identity()));
+        if (words.isEmpty()) return List.of();
+
+        Map<Long, List<String>> forms = wordFormRepository.findByWordIdIn(words.keySet()).stream()
+                .collect(Collectors.groupingBy(wf -> wf.getWord().getId(),
+                        Collectors.mapping(WordForm::getForm, Collectors.toList())));
+        Map<Long, Map<String, String>> conjugations = wordConjugationRepository.findByWordIdIn(words.keySet()).stream()
+                .collect(Collectors.groupingBy(wc -> wc.getWord().getId(),
+                        Collectors.toMap(WordConjugation::getPerson, WordConjugation::getForm, (first, second) -> first)));
+        Map<Long, List<String>> examples = wordExampleRepository.findByWordIdIn(words.keySet()).stream()
+                .collect(Collectors.groupingBy(we -> we.getWord().getId(),
+                        Collectors.mapping(WordExample::getSentence, Collectors.toList())));
+        Map<Long, List<String>> tips = wordTipRepository.findByWordIdIn(words.keySet()).stream()
+                .collect(Collectors.groupingBy(wt -> wt.getWord().getId(),
+                        Collectors.mapping(WordTip::getTip, Collectors.toList())));
+
+        Map<Long, List<String>> synonyms = new HashMap<>();
+        Map<Long, List<String>> antonyms = new HashMap<>();
+        for (WordRelation relation : wordRelationRepository.findByWordIdIn(words.keySet())) {
+            Map<Long, List<String>> target = "SYNONYM".equals(relation.getRelationType()) ? synonyms
+                    : "ANTONYM".equals(relation.getRelationType()) ? antonyms : null;
+            if (target != null) {
+                target.computeIfAbsent(relation.getWord().getId(), k -> new ArrayList<>())
+                        .add(relation.getRelatedWord().getWord());
+            }
+        }
+
+        List<WordDto> result = new ArrayList<>(words.size());
+        for (Long id : ids) {
+            Word word = words.get(id);
+            if (word == null) continue;
+            result.add(WordDto.builder()
+                    .id(word.getId())
+                    .word(word.getWord())
+                    .language(word.getLanguage().getCode())
+                    .level(word.getLevel().name())
+                    .forms(forms.getOrDefault(id, List.of()))
+                    .conjugations(conjugations.getOrDefault(id, Map.of()))
+                    .examples(examples.getOrDefault(id, List.of()))
+                    .tips(tips.getOrDefault(id, List.of()))
+                    .synonyms(synonyms.getOrDefault(id, List.of()))
+                    .antonyms(antonyms.getOrDefault(id, List.of()))
+                    .build());
+        }
+        return result;
     }
 
     // ---------------- 2. ASSIGN WORD TO USER ----------------
+    /**
+     * Assigns a whole deck in one INSERT ... SELECT; words the user already has are skipped through the
+     * unique (user_id, word_id) index. Once committed, the Redis mirror is updated with a single SADD and
+     * the words are added to the due schedule with ZADD NX, so a rollback leaves nothing behind in Redis.
+     */
     @Transactional
-    public void assignWordsToUser(List<Long> wordIdList, UUID userId) {
-        for (Long wordId : wordIdList) {
-            //query will change for lanugage search
-            boolean exists = userWordRepository.existsByUserIdAndWordId(userId, wordId);
-            if (!exists) {
-                Word wordRef = entityManager.getReference(Word.class, wordId);
-                User user = entityManager.getReference(User.class, userId); //makes sense?
-                Box box = entityManager.getReference(Box.class, BoxType.INIT.getId());
-
-                UserWord userWord = UserWord.builder()
-                        .id(UUID.randomUUID())
-                        .user(user)
-                        .word(wordRef)
-                        .language(wordRef.getLanguage()) // reuse from word
-                        .level(wordRef.getLevel())       // reuse from word
-                        .box(box)
-                        .accuracy(0.0)
-                        .lastSeen(Instant.now())
-                        .build();
-
-                userWordRepository.save(userWord);
-            }
+    public void assignWordsToUser(UUID userId, String level, String language, Collection<Long> wordIds) {
+        if (wordIds == null || wordIds.isEmpty()) return;
+        List<Long> ids = wordIds.stream().distinct().toList();
+
+        userWordRepository.insertMissingAssignments(userId, ids.toArray(Long[]::new), BoxType.INIT.getId());
+        Instant nextReview = Instant.now().plus(Duration.ofDays(BoxType.INIT.getIntervalDays()));
+        Runnable mirror = () -> {
+            redisService.addUserAssignedWords(userId, level, language, ids);
+            redisService.scheduleNewWords(userId, ids, nextReview);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mirror.run();
+                }
+            });
+        } else {
+            mirror.run();
         }
-        redisService.addUserAssignedWords(userId, request.getLevel(), request.getSourceLanguage(), wordIdList);
     }
 
     // ---------------- 3. RANDOM WORDS ----------------
@@ -93,14 +184,22 @@ public class WordService {
         String level = request.getLevel();
         String language = request.getSourceLanguage();
         int count = request.getCount();
+        LanguageLevel languageLevel = parseLevel(level);
+
+        // Step 0: rebuild the user's assigned mirror lazily (first use, or after a Redis flush)
+        if (!redisService.isUserAssignedMirrorLoaded(userId, level, language)) {
+            redisService.loadUserAssignedFromDb(userId, level, language,
+                    userWordRepository.findAssignedWordIds(userId, languageLevel, language));
+        }
 
         // Step 1: Redis unseen
-        List<Long> redisWordIds = redisService.getRandomUnseenWordsForUser(userId, language, level, count);
+        List<Long> redisWordIds = redisService.getRandomUnseenWordsForUser(userId, level, language, count);
+        redisService.recordPoolSupply(level, language, count, redisWordIds.size());
 
         // Step 2: DB fallback if needed
         int remaining = count - redisWordIds.size();
         List<Long> dbWordIds = remaining > 0
-                ? wordRepository.findRandomUnassignedWords(userId, level, remaining)
+                ? wordRepository.findRandomUnassignedWords(userId, level, language, remaining)
                 : List.of();
 
         // Step 3: Aggregate so far
@@ -108,105 +207,105 @@ public class WordService {
         allIds.addAll(redisWordIds);
         allIds.addAll(dbWordIds);
 
-        // Step 4: If still missing → call LLM
-        List<WordDto> llmWords = new ArrayList<>();
+        // Step 4: If still short, never wait on the LLM here: flag the pool so the
+        // background refill (WordPoolRefillService) tops it up, and return what we have
         if (allIds.size() < count) {
-            int needed = count - allIds.size();
-
-            // call LLM for fresh words
-            llmWords = llmService.generateWords(level, needed);
-
-            // save and assign
-            llmWords.forEach(word -> saveAndAssignWord(userId, word));
-
-            // also add to Redis level pool
-            redisService.addLevelWordIds(level, llmWords.stream().map(WordDto::getId).toList());
+            redisService.markPoolStarved(level, language);
         }
 
         // Final: persist assignment of DB/Redis words
         if (!allIds.isEmpty()) {
-            assignWordsToUser(allIds);
+            assignWordsToUser(userId, level, language, allIds);
         }
 
-        // Convert to DTOs
-        Stream<WordDto> dbAndRedisDtos = allIds.stream().map(this::getFullWord);
-        return Stream.concat(dbAndRedisDtos, llmWords.stream()).toList();
+        // Convert to DTOs (one batched hydration for the whole deck)
+        return getFullWords(allIds);
     }
 
 
+    private static LanguageLevel parseLevel(String level) {
+        try {
+            return LanguageLevel.valueOf(level);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown level: " + level);
+        }
+    }
+
     // ---------------- 4. SAVE LLM WORD ----------------
     @Transactional
-    public void saveAndAssignWord(WordDto wordDto) {
+    public Word saveAndAssignWord(WordDto wordDto) {
         UUID userId = getCurrentUserId();
-        Language language = languageRepository.findByCode(languageCode)
-                .orElseThrow(() -> new IllegalArgumentException("Language not supported: " + languageCode));
-
-        Word word = wordRepository.findByWordAndLanguage(wordDto.getWord(), wordDto.getLanguage())
-                .orElseGet(() -> {
-                    Word newWord = new Word();
-                    newWord.setWord(wordDto.getWord());
-                    newWord.setLevel(wordDto.getLevel());
-                    return wordRepository.save(newWord);
-                });
-
-        Long wordId = word.getId();
-
-        // Step 2: Save forms (V2, V3, Future, etc.)
-        if (wordDto.getForms() != null) {
-            for (String form : wordDto.getForms()) {
-                if (wordFormRepository.findByForm(form).isEmpty()) {
-                    WordForm wf = new WordForm();
-                    wf.setWordId(wordId);
-                    wf.setForm(form);
-                    wf.setFormType(detectFormType(form, wordDto)); // helper
-                    wordFormRepository.save(wf);
-                }
-            }
-        }
+        Long wordId = saveAndAssignWords(userId, List.of(wordDto)).getFirst();
+        return entityManager.getReference(Word.class, wordId);
+    }
 
-        // Step 3: Save conjugations
-        if (wordDto.getConjugations() != null) {
-            wordDto.getConjugations().forEach((person, form) -> {
-                if (wordConjugationRepository.findByForm(form).isEmpty()) {
-                    WordConjugation wc = new WordConjugation();
-                    wc.setWord(word);
-                    wc.setPerson(person);
-                    wc.setForm(form);
-                    wordConjugationRepository.save(wc);
-                }
-            });
-        }
+    /**
+     * Persists a batch of LLM-generated words through the bulk ingestion pipeline and assigns them to the user.
+     * Words are grouped by (level, language) so each group is assigned with one statement.
+     */
+    @Transactional
+    public List<Long> saveAndAssignWords(UUID userId, List<WordDto> wordDtos) {
+        if (wordDtos.isEmpty()) return List.of();
+        List<Long> wordIds = wordIngestionService.ingest(wordDtos);
+
+        // forms, conjugations and relations changed → drop stale cached copies on every node
+        wordCacheService.evict(wordIds);
+
+        wordDtos.stream()
+                .collect(Collectors.groupingBy(d -> List.of(d.getLevel(), d.getLanguage()),
+                        Collectors.mapping(WordDto::getId, Collectors.toList())))
+                .forEach((group, ids) -> assignWordsToUser(userId, group.get(0), group.get(1), ids));
+        return wordIds;
+    }
+// logic for translation requests
+    /**
+     * Resolves a translation through Redis, the DB and finally the LLM. Concurrent requests for the same
+     * (source, target, word) share one resolution per node; with translation.cross-node-lock the nodes
+     * also coordinate through a Redis lease. "Source word not found" is cached for a short time.
+     */
+    public WordDto translateWord(String inputWord, String sourceLangCode, String targetLangCode) {
+        // 1️⃣ Redis lookup first (a cached miss short-circuits too)
+        Optional<RedisService.CachedTranslation> cached = redisService.getCachedTranslation(sourceLangCode, targetLangCode, inputWord);
+        if (cached.isPresent()) return unwrap(cached.get(), inputWord, sourceLangCode);
+
+        TranslationKey key = new TranslationKey(sourceLangCode, targetLangCode, inputWord);
+        return translationFlights.execute(key, () -> crossNodeTranslationLock
+                ? resolveTranslationLocked(key)
+                : transactionTemplate.execute(status -> resolveTranslation(key)));
+    }
 
-        // Step 4: Synonyms & Antonyms
-        if (wordDto.getSynonyms() != null) {
-            for (String syn : wordDto.getSynonyms()) {
-                Word synonymWord = wordRepository.findByWord(syn)
-                        .orElseGet(() -> wordRepository.save(new Word(syn, wordDto.getLevel())));
-                wordRelationRepository.save(new WordRelation(wordId, synonymWord.getId(), "SYNONYM"));
+    // Only one node resolves a key at a time; the others wait for its cached result, bounded by lock-wait
+    private WordDto resolveTranslationLocked(TranslationKey key) {
+        String lease = "translation:" + key.source() + ":" + key.target() + ":" + key.word();
+        String owner = UUID.randomUUID().toString();
+        long deadline = System.nanoTime() + translationLockWait.toNanos();
+        boolean acquired;
+        // without Redis there is no lease to wait for; the local SingleFlight still coalesces this node
+        while (!(acquired = redisService.tryAcquireLease(lease, owner, translationLockLease))
+                && redisService.isAvailable() && System.nanoTime() < deadline) {
+            Optional<RedisService.CachedTranslation> cached = redisService.getCachedTranslation(key.source(), key.target(), key.word());
+            if (cached.isPresent()) return unwrap(cached.get(), key.word(), key.source());
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for translation of " + key.word(), e);
             }
         }
-
-        if (wordDto.getAntonyms() != null) {
-            for (String ant : wordDto.getAntonyms()) {
-                Word antonymWord = wordRepository.findByWord(ant)
-                        .orElseGet(() -> wordRepository.save(new Word(ant, wordDto.getLevel())));
-                wordRelationRepository.save(new WordRelation(wordId, antonymWord.getId(), "ANTONYM"));
-            }
+        try {
+            // the previous holder may have finished between our cache miss and the lease
+            Optional<RedisService.CachedTranslation> cached = redisService.getCachedTranslation(key.source(), key.target(), key.word());
+            if (cached.isPresent()) return unwrap(cached.get(), key.word(), key.source());
+            return transactionTemplate.execute(status -> resolveTranslation(key));
+        } finally {
+            if (acquired) redisService.releaseLease(lease, owner);
         }
-
-        // Step 5: Assign to user
-        assignWordsToUser(UserWordRequest.builder()
-                .userId(userId)
-                .wordIds(List.of(wordId))
-                .build());
-
     }
-// logic for translation requests
-    @Transactional
-    public WordDto translateWord(String inputWord, String sourceLangCode, String targetLangCode) {
-        // 1️⃣ Redis lookup first
-        Optional<WordDto> cached = redisService.getCachedTranslation(sourceLangCode, targetLangCode, inputWord);
-        if (cached.isPresent()) return cached.get();
+
+    private WordDto resolveTranslation(TranslationKey key) {
+        String inputWord = key.word();
+        String sourceLangCode = key.source();
+        String targetLangCode = key.target();
 
         // 2️⃣ Load language entities
         //better check method??
@@ -216,24 +315,26 @@ public class WordService {
                 .orElseThrow(() -> new IllegalArgumentException("Unsupported target language: " + targetLangCode));
 
         // 3️⃣ Try to find the word in DB (exact, forms, conjugations)
-        Optional<WordDto> sourceWordOpt = searchAndReturnWord(inputWord);
-        if (sourceWordOpt.isEmpty()) {
-            throw new IllegalArgumentException("Source word not found in " + sourceLangCode + ": " + inputWord);
+        // only the id is needed here, the source word is never hydrated; exact matches only, a fuzzy hit
+        // would translate and link a different word than the one typed
+        Optional<Long> sourceWordId = resolveWordId(inputWord);
+        if (sourceWordId.isEmpty()) {
+            redisService.cacheTranslationMiss(sourceLangCode, targetLangCode, inputWord);
+            throw sourceWordNotFound(inputWord, sourceLangCode);
         }
-        Word sourceWord = wordRepository.findById(sourceWordOpt.get().getId()).orElseThrow();
+        Word sourceWord = entityManager.getReference(Word.class, sourceWordId.get());
 
         // 4️⃣ Check existing translation mapping
-        Optional<WordTranslation> translationOpt = wordTranslationRepository.findTranslation(sourceWord, sourceLang, targetLang);
-        if (translationOpt.isPresent()) {
-            Word targetWord = translationOpt.get().getTargetWord();
-            WordDto targetDto = getFullWord(targetWord.getId());
+        Optional<Word> existingTarget = wordTranslationRepository.findTranslation(sourceWordId.get(), sourceLangCode, targetLangCode);
+        if (existingTarget.isPresent()) {
+            WordDto targetDto = getFullWords(List.of(existingTarget.get().getId())).getFirst();
             redisService.cacheTranslation(sourceLangCode, targetLangCode, inputWord, targetDto);
             return targetDto;
         }
 
         // 5️⃣ No translation found → check if word exists in target language DB
         Optional<WordDto> targetFromDb = wordRepository.findByWordAndLanguage(inputWord, targetLang)
-                .map(w -> getFullWord(w.getId()));
+                .flatMap(w -> getFullWords(List.of(w.getId())).stream().findFirst());
 
         if (targetFromDb.isPresent()) {
             cacheAndLinkTranslation(sourceWord, targetFromDb.get(), sourceLang, targetLang, inputWord);
@@ -241,8 +342,15 @@ public class WordService {
         }
 
         // 6️⃣ Fallback to LLM (generate translation)
-        //Add prompt builder for translation
-        WordDto translated = llmService.generateTranslatedWord(inputWord, sourceLangCode, targetLangCode);
+        WordDto translated;
+        try {
+            translated = llmService.generateTranslatedWord(inputWord, sourceLangCode, targetLangCode);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while translating " + inputWord, e);
+        } catch (IOException e) {
+            throw new RuntimeException("LLM translation failed for " + inputWord, e);
+        }
 
         // 7️⃣ Save translated word + link
         Word targetWord = saveAndAssignWord(translated);
@@ -262,13 +370,148 @@ public class WordService {
         return translated;
     }
 
+    /**
+     * Translates a whole word list with a fixed number of round trips: one Redis MGET, set-based lookups
+     * against word_translations and the target language, one LLM call for everything still missing and
+     * one batched write-back. Items follow the input order and report the tier that served them.
+     * Inputs that resolve to the same source word (inflections) are translated and linked once
+     * and share the result.
+     */
+    @Transactional
+    public BatchTranslationResponse translateWords(List<String> inputWords, String sourceLangCode, String targetLangCode) {
+        List<String> words = inputWords.stream().distinct().toList();
+        Map<String, BatchTranslationResponse.Item> resolved = new HashMap<>();
+
+        // 1️⃣ Redis, one MGET (cached misses included)
+        redisService.getCachedTranslations(sourceLangCode, targetLangCode, words).forEach((word, cached) ->
+                resolved.put(word, cached.isMiss()
+                        ? new BatchTranslationResponse.Item(word, BatchTranslationResponse.Tier.NOT_FOUND, null)
+                        : new BatchTranslationResponse.Item(word, BatchTranslationResponse.Tier.CACHE, cached.word())));
+        List<String> pending = words.stream().filter(w -> !resolved.containsKey(w)).toList();
+
+        if (!pending.isEmpty()) {
+            Language sourceLang = languageRepository.findByCode(sourceLangCode)
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported source language: " + sourceLangCode));
+            Language targetLang = languageRepository.findByCode(targetLangCode)
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported target language: " + targetLangCode));
+
+            Map<String, WordDto> toCache = new HashMap<>();
+            List<String> notFound = new ArrayList<>();
+            List<WordTranslation> newLinks = new ArrayList<>();
+
+            // 2️⃣ Source words, grouped by the word they resolve to ("gehen"/"ging" → one source id)
+            Map<String, Long> sourceIds = new HashMap<>();
+            Map<Long, List<String>> inputsBySource = new LinkedHashMap<>();
+            for (String word : pending) {
+                Optional<Long> id = resolveWordId(word);
+                if (id.isPresent()) {
+                    sourceIds.put(word, id.get());
+                    inputsBySource.computeIfAbsent(id.get(), k -> new ArrayList<>()).add(word);
+                } else {
+                    notFound.add(word);
+                    resolved.put(word, new BatchTranslationResponse.Item(word, BatchTranslationResponse.Tier.NOT_FOUND, null));
+                }
+            }
+
+            // 3️⃣ Existing links, one query
+            Map<Long, Long> links = sourceIds.isEmpty() ? Map.of()
+                    : wordTranslationRepository.findLinks(sourceIds.values(), sourceLangCode, targetLangCode).stream()
+                    .collect(Collectors.toMap(TranslationLink::sourceWordId, TranslationLink::targetWordId, (a, b) -> a));
+
+            // 4️⃣ Same spelling in the target language, one query
+            List<String> unlinked = pending.stream()
+                    .filter(w -> sourceIds.containsKey(w) && !links.containsKey(sourceIds.get(w)))
+                    .toList();
+            Map<String, Long> targetIds = unlinked.isEmpty() ? Map.of()
+                    : wordRepository.findByWordInAndLanguageCodeIn(unlinked, List.of(targetLangCode)).stream()
+                    .collect(Collectors.toMap(Word::getWord, Word::getId, (a, b) -> a));
+
+            // one hydration for tiers 3 and 4
+            Set<Long> targetWordIds = new HashSet<>(links.values());
+            targetWordIds.addAll(targetIds.values());
+            Map<Long, WordDto> hydrated = getFullWords(targetWordIds).stream()
+                    .collect(Collectors.toMap(WordDto::getId, Function.identity()));
+
+            // one decision and at most one new link per source word, fanned out to all of its inputs
+            List<Long> forLlm = new ArrayList<>();
+            inputsBySource.forEach((sourceId, inputs) -> {
+                WordDto linked = hydrated.get(links.get(sourceId));
+                WordDto sameSpelling = inputs.stream()
+                        .map(w -> hydrated.get(targetIds.get(w)))
+                        .filter(Objects::nonNull)
+                        .findFirst().orElse(null);
+                if (linked != null) {
+                    inputs.forEach(w -> resolve(resolved, toCache, w, BatchTranslationResponse.Tier.DB, linked));
+                } else if (sameSpelling != null) {
+                    inputs.forEach(w -> resolve(resolved, toCache, w, BatchTranslationResponse.Tier.TARGET_DB, sameSpelling));
+                    newLinks.add(translationLink(sourceId, sameSpelling.getId(), sourceLang, targetLang));
+                } else {
+                    forLlm.add(sourceId);
+                }
+            });
+
+            // 5️⃣ Everything left in one LLM call and one bulk ingestion
+            if (!forLlm.isEmpty()) {
+                // the first input of each source word stands for the whole group
+                List<String> prompts = forLlm.stream().map(id -> inputsBySource.get(id).getFirst()).toList();
+                List<WordDto> generated;
+                try {
+                    generated = llmService.generateTranslatedWords(prompts, sourceLangCode, targetLangCode);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while translating " + prompts.size() + " words", e);
+                } catch (IOException e) {
+                    throw new RuntimeException("LLM translation failed for " + prompts.size() + " words", e);
+                }
+                saveAndAssignWords(getCurrentUserId(), generated);
+                for (int i = 0; i < forLlm.size(); i++) {
+                    Long sourceId = forLlm.get(i);
+                    WordDto translated = generated.get(i);
+                    inputsBySource.get(sourceId).forEach(w ->
+                            resolve(resolved, toCache, w, BatchTranslationResponse.Tier.LLM, translated));
+                    newLinks.add(translationLink(sourceId, translated.getId(), sourceLang, targetLang));
+                }
+            }
+
+            // 6️⃣ Batched write-back
+            wordTranslationRepository.saveAll(newLinks);
+            redisService.cacheTranslations(sourceLangCode, targetLangCode, toCache, notFound);
+        }
+
+        return new BatchTranslationResponse(inputWords.stream().map(resolved::get).toList());
+    }
+
+    private static void resolve(Map<String, BatchTranslationResponse.Item> resolved, Map<String, WordDto> toCache,
+                                String word, BatchTranslationResponse.Tier tier, WordDto translation) {
+        resolved.put(word, new BatchTranslationResponse.Item(word, tier, translation));
+        toCache.put(word, translation);
+    }
+
+    private WordTranslation translationLink(Long sourceWordId, Long targetWordId, Language sourceLang, Language targetLang) {
+        return WordTranslation.builder()
+                .sourceWord(entityManager.getReference(Word.class, sourceWordId))
+                .targetWord(entityManager.getReference(Word.class, targetWordId))
+                .sourceLanguage(sourceLang)
+                .targetLanguage(targetLang)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private static WordDto unwrap(RedisService.CachedTranslation cached, String inputWord, String sourceLangCode) {
+        if (cached.isMiss()) throw sourceWordNotFound(inputWord, sourceLangCode);
+        return cached.word();
+    }
+
+    private static IllegalArgumentException sourceWordNotFound(String inputWord, String sourceLangCode) {
+        return new IllegalArgumentException("Source word not found in " + sourceLangCode + ": " + inputWord);
+    }
+
     private void cacheAndLinkTranslation(Word sourceWord, WordDto targetDto,
                                          Language srcLang, Language tgtLang, String inputWord) {
-        Word targetWord = wordRepository.findById(targetDto.getId()).orElseThrow();
         wordTranslationRepository.save(
                 WordTranslation.builder()
                         .sourceWord(sourceWord)
-                        .targetWord(targetWord)
+                        .targetWord(entityManager.getReference(Word.class, targetDto.getId()))
                         .sourceLanguage(srcLang)
                         .targetLanguage(tgtLang)
                         .createdAt(Instant.now())
@@ -277,31 +520,66 @@ public class WordService {
         redisService.cacheTranslation(srcLang.getCode(), tgtLang.getCode(), inputWord, targetDto);
     }
 
+    private record TranslationKey(String source, String target, String word) {}
+
     // ---------------- 5. SEARCH ----------------
     //extend for language parameter //also with level?
     //or we can have two different methods? one for search and one for translation
     @Transactional(readOnly = true)
     public Optional<WordDto> searchAndReturnWord(String input) {
+        Optional<Long> wordId = resolveWordIdTolerant(input);
+        if (wordId.isEmpty()) {
+            // Step 4: Not found → let LLM handle
+            return Optional.empty();
+        }
+        return getFullWords(List.of(wordId.get())).stream().findFirst();
+    }
+
+    /**
+     * Exact lookup first; on a miss the closest form within a small edit distance ("Hauss" → "Haus").
+     * Search only: the returned word carries its own spelling, so a fuzzy hit reaches the caller as a
+     * suggestion. The translate paths stay exact. Fuzzy outcomes are counted as word.lookup.fuzzy{result}.
+     */
+    private Optional<Long> resolveWordIdTolerant(String input) {
+        Optional<Long> exact = resolveWordId(input);
+        if (exact.isPresent() || !inflectionIndex.isReady()) return exact;
+
+        Optional<Long> fuzzy = inflectionIndex.suggest(input, 1).stream()
+                .findFirst()
+                .map(SymmetricDeleteIndex.Match::wordId);
+        meterRegistry.counter("word.lookup.fuzzy", "result", fuzzy.isPresent() ? "hit" : "miss")
+                .increment();
+        return fuzzy;
+    }
+
+    // Autocomplete, served from the in-memory suggest index only
+    public List<WordSuggestion> suggestWords(String prefix, String language, String level, int limit) {
+        return wordSuggestIndex.suggest(prefix, language, level, limit).stream()
+                .map(s -> new WordSuggestion(s.form(), s.wordId(), s.level(), s.base()))
+                .toList();
+    }
+
+    private Optional<Long> resolveWordId(String input) {
+        // In-memory index covers words, forms and conjugations in one probe; DB tiers only until it is built
+        if (inflectionIndex.isReady()) {
+            return inflectionIndex.lookup(input);
+        }
+
         // Step 1: Check in main word table
         Optional<Word> baseWord = wordRepository.findByWord(input);
         if (baseWord.isPresent()) {
-            return Optional.of(getFullWord(baseWord.get().getId()));
+            return Optional.of(baseWord.get().getId());
         }
 
         // Step 2: Check in word_forms (V2, V3, Future)
         Optional<WordForm> form = wordFormRepository.findByForm(input);
         if (form.isPresent()) {
-            return Optional.of(getFullWord(form.get().getId()));
+            return Optional.of(form.get().getWord().getId());
         }
 
         // Step 3: Check in word_conjugations
         Optional<WordConjugation> conj = wordConjugationRepository.findByForm(input);
-        if (conj.isPresent()) {
-            return Optional.of(getFullWord(conj.get().getWord().getId()));
-        }
-
-        // Step 4: Not found → let LLM handle
-        return Optional.empty();
+        return conj.map(c -> c.getWord().getId());
     }
 
     @Transactional(readOnly = true)
@@ -312,8 +590,8 @@ public class WordService {
     @Transactional
     public void updateUserWordBox(UserWord userWord, Box newBox) {
         userWord.setBox(newBox);
-        userWord.setLastSeen(LocalDateTime.now());
-        userWord.setNextReview(LocalDateTime.now().plusDays(newBox.getIntervalDays()));
+        // the next review is lastSeen + box interval, see DueScheduleEntry
+        userWord.setLastSeen(Instant.now());
         userWordRepository.save(userWord);
     }
 
@@ -325,15 +603,20 @@ public class WordService {
                 .language(word.getLanguage())
                 .level(word.getLevel())
                 .box(initBox)
-                .lastSeen(LocalDateTime.now())
-                .nextReview(LocalDateTime.now().plusDays(initBox.getIntervalDays()))
+                .lastSeen(Instant.now())
                 .build();
 
         userWordRepository.save(userWord);
     }
 
     @Transactional(readOnly = true)
-    public List<UserWord> findDueWords(Long userId, LocalDateTime now) {
-        return userWordRepository.findDueWords(userId, now);
+    public List<DueScheduleEntry> findDueScheduleEntries(UUID userId) {
+        return userWordRepository.findDueScheduleEntries(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserWord> findUserWords(UUID userId, Collection<Long> wordIds) {
+        if (wordIds.isEmpty()) return List.of();
+        return userWordRepository.findByUserIdAndWordIdIn(userId, wordIds);
     }
 }
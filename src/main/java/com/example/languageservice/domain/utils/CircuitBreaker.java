@@ -0,0 +1,68 @@
+package com.example.languageservice.domain.utils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker. {@code failureThreshold} failures in a row open it; while open,
+ * {@link #tryAcquire()} refuses calls until {@code openDuration} has passed. Then exactly one probe call
+ * is let through (half-open): success closes the breaker, failure opens it for another period.
+ * The closed path is a single volatile read, so it can sit in front of every call.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * True when the caller may attempt the call; it must then report {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public boolean tryAcquire() {
+        State current = state;
+        if (current == State.CLOSED) return true;
+        if (current == State.OPEN && nanoClock.getAsLong() - openedAt < openNanos) return false;
+        // open period is over (or half-open): only the caller that wins the probe slot goes through
+        if (!probeInFlight.compareAndSet(false, true)) return false;
+        state = State.HALF_OPEN;
+        return true;
+    }
+
+    public void onSuccess() {
+        if (state == State.CLOSED && consecutiveFailures.get() == 0) return;
+        consecutiveFailures.set(0);
+        state = State.CLOSED;
+        probeInFlight.set(false);
+    }
+
+    public void onFailure() {
+        if (state == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = nanoClock.getAsLong();
+            state = State.OPEN;
+            probeInFlight.set(false);
+        }
+    }
+
+    public State state() {
+        return state;
+    }
+}
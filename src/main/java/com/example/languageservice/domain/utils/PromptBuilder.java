@@ -47,6 +47,98 @@ public class PromptBuilder {
                 .build();
     }
 
+    /** Separates the streamed paragraph text from the JSON metadata that follows it. */
+    public static final String STREAM_METADATA_MARKER = "###META###";
+
+    /**
+     * Same request as {@link #buildParagraphPrompt}, but the paragraph comes first as plain text so it can be
+     * shown while it streams; usedWords and translation follow as JSON after {@link #STREAM_METADATA_MARKER}.
+     */
+    public static AiPromptPayload buildStreamingParagraphPrompt(ParagraphRequest request) {
+        StringBuilder prompt = new StringBuilder();
+
+        prompt.append("Generate a German paragraph.\n")
+                .append("Level: ").append(request.getLanguageLevel()).append("\n")
+                .append("Length: ").append(request.getLength()).append("\n")
+                .append("Topic: ").append(request.getTopic()).append("\n");
+
+        if (request.isIncludeUserWords() && !request.getSelectedWords().isEmpty()) {
+            prompt.append("Include these words: ").append(String.join(", ", request.getSelectedWords())).append("\n");
+        }
+
+        prompt.append("Write only the paragraph as plain text first. Then, on a new line, write ")
+                .append(STREAM_METADATA_MARKER)
+                .append(" followed by JSON with the field usedWords");
+        if (request.getTranslationLanguage() != null) {
+            prompt.append(" and the field translation (the paragraph translated into ")
+                    .append(request.getTranslationLanguage()).append(")");
+        }
+        prompt.append(".");
+
+        AiPrompt userPrompt = AiPrompt.builder()
+                .role("user")
+                .content(prompt.toString())
+                .build();
+
+        return AiPromptPayload.builder()
+                .model(aiModelSettings.getModel())
+                .aiPrompt(List.of(SYSTEM_PROMPT, userPrompt))
+                .build();
+    }
+
+    public static AiPromptPayload buildWordsPrompt(String level, String language, int count) {
+        String prompt = "Generate " + count + " distinct, commonly used words for language learners.\n" +
+                "Language: " + language + "\n" +
+                "Level: " + level + "\n" +
+                "Respond only with a JSON array. Each element has the fields: word, language, level, partOfSpeech, " +
+                "forms (V2, V3, future in this order), conjugations (person → form), examples, tips, synonyms, antonyms.";
+
+        AiPrompt userPrompt = AiPrompt.builder()
+                .role("user")
+                .content(prompt)
+                .build();
+
+        return AiPromptPayload.builder()
+                .model(aiModelSettings.getModel())
+                .aiPrompt(List.of(SYSTEM_PROMPT, userPrompt))
+                .build();
+    }
+
+    public static AiPromptPayload buildTranslationPrompt(String word, String sourceLanguage, String targetLanguage) {
+        String prompt = "Translate the " + sourceLanguage + " word \"" + word + "\" into " + targetLanguage + ".\n" +
+                "Respond only with a JSON object for the translated word with the fields: word, language, level, " +
+                "partOfSpeech, forms (V2, V3, future in this order), conjugations (person → form), examples, tips, " +
+                "synonyms, antonyms.";
+
+        AiPrompt userPrompt = AiPrompt.builder()
+                .role("user")
+                .content(prompt)
+                .build();
+
+        return AiPromptPayload.builder()
+                .model(aiModelSettings.getModel())
+                .aiPrompt(List.of(SYSTEM_PROMPT, userPrompt))
+                .build();
+    }
+
+    public static AiPromptPayload buildTranslationsPrompt(List<String> words, String sourceLanguage, String targetLanguage) {
+        String prompt = "Translate each of these " + sourceLanguage + " words into " + targetLanguage + ": " +
+                String.join(", ", words) + "\n" +
+                "Respond only with a JSON array with exactly one element per word, in the same order. Each element " +
+                "is the translated word with the fields: word, language, level, partOfSpeech, forms (V2, V3, future " +
+                "in this order), conjugations (person → form), examples, tips, synonyms, antonyms.";
+
+        AiPrompt userPrompt = AiPrompt.builder()
+                .role("user")
+                .content(prompt)
+                .build();
+
+        return AiPromptPayload.builder()
+                .model(aiModelSettings.getModel())
+                .aiPrompt(List.of(SYSTEM_PROMPT, userPrompt))
+                .build();
+    }
+
     public static String buildChatPrompt(String userMessage) {
         return "You are a helpful assistant that translates English to German. "
                 + "Translate the following message to German:\n" + userMessage;
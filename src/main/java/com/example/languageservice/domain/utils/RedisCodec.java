@@ -0,0 +1,16 @@
+package com.example.languageservice.domain.utils;
+
+import java.util.List;
+
+/**
+ * Turns values cached by RedisService into bytes and back. Decoders must accept every format an
+ * encoder has ever written, so the write format can be switched while old entries are still around.
+ */
+public interface RedisCodec {
+
+    byte[] encode(Object value);
+
+    <T> T decode(byte[] bytes, Class<T> type);
+
+    <T> List<T> decodeList(byte[] bytes, Class<T> elementType);
+}
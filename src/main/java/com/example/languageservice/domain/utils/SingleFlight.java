@@ -0,0 +1,71 @@
+package com.example.languageservice.domain.utils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Per-key request coalescing: while a load for a key is running, concurrent callers for the same key
+ * wait for its result instead of starting their own. The entry is dropped as soon as the load finishes,
+ * so nothing is cached here. A caller waits at most {@code maxWait} for the leader and then runs the
+ * loader itself, so one hung load does not pin every caller of its key.
+ */
+public final class SingleFlight<K, V> {
+
+    private static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(30);
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitMillis;
+
+    public SingleFlight() {
+        this(DEFAULT_MAX_WAIT);
+    }
+
+    public SingleFlight(Duration maxWait) {
+        this.maxWaitMillis = maxWait.toMillis();
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) return await(leader, loader);
+
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> leader, Supplier<V> loader) {
+        try {
+            return leader.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // the leader keeps its entry; this caller loads on its own
+            return loader.get();
+        } catch (ExecutionException e) {
+            // rethrow what the leader saw, so every caller gets the same exception type
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+}
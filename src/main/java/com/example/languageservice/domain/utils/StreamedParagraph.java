@@ -0,0 +1,62 @@
+package com.example.languageservice.domain.utils;
+
+import java.util.function.Consumer;
+
+/**
+ * Splits a streamed completion of the form {@code <paragraph text><marker><JSON metadata>} (see
+ * {@link PromptBuilder#buildStreamingParagraphPrompt}). Text before the marker is handed to the consumer as it
+ * arrives; the last {@code marker.length() - 1} characters are held back until it is clear they do not start
+ * the marker. Everything after the marker is buffered as metadata. Not thread-safe: one instance per stream.
+ */
+public final class StreamedParagraph {
+
+    private final String marker;
+    private final Consumer<String> onText;
+    private final StringBuilder content = new StringBuilder();
+    private int emitted = 0;
+    private int markerAt = -1;
+
+    public StreamedParagraph(String marker, Consumer<String> onText) {
+        this.marker = marker;
+        this.onText = onText;
+    }
+
+    public void accept(String delta) {
+        if (delta == null || delta.isEmpty()) return;
+        content.append(delta);
+        if (markerAt >= 0) return;
+
+        // the marker can only start in the part not yet emitted
+        markerAt = content.indexOf(marker, emitted);
+        int safe = markerAt >= 0 ? markerAt : content.length() - (marker.length() - 1);
+        emitUpTo(safe);
+    }
+
+    /** Flushes the held-back tail when the stream ended without a marker. */
+    public void finish() {
+        if (markerAt < 0) emitUpTo(content.length());
+    }
+
+    public String text() {
+        return content.substring(0, markerAt >= 0 ? markerAt : content.length()).strip();
+    }
+
+    /** The JSON after the marker, or null when the model did not send any. */
+    public String metadata() {
+        if (markerAt < 0) return null;
+        String metadata = content.substring(markerAt + marker.length()).strip();
+        // models like to wrap JSON in a ```json fence
+        if (metadata.startsWith("```")) {
+            int start = metadata.indexOf('\n');
+            int end = metadata.lastIndexOf("```");
+            metadata = start >= 0 && end > start ? metadata.substring(start + 1, end).strip() : "";
+        }
+        return metadata.isEmpty() ? null : metadata;
+    }
+
+    private void emitUpTo(int end) {
+        if (end <= emitted) return;
+        onText.accept(content.substring(emitted, end));
+        emitted = end;
+    }
+}
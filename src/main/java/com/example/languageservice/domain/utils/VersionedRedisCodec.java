@@ -0,0 +1,124 @@
+package com.example.languageservice.domain.utils;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Default {@link RedisCodec}. Binary values start with a one-byte format header:
+ * <ul>
+ *   <li>{@code 0x01} Smile (binary JSON)</li>
+ *   <li>{@code 0x02} Smile, deflated; used once the Smile payload reaches {@code compressionThreshold}</li>
+ * </ul>
+ * Anything else is read as plain JSON, which is what the service wrote before this codec existed
+ * and still writes with {@link Format#JSON} (e.g. to roll back while newer nodes are running).
+ */
+public class VersionedRedisCodec implements RedisCodec {
+
+    public enum Format { JSON, SMILE }
+
+    static final byte SMILE = 0x01;
+    static final byte SMILE_DEFLATED = 0x02;
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final Format writeFormat;
+    private final int compressionThreshold;
+
+    public VersionedRedisCodec(ObjectMapper jsonMapper, Format writeFormat, int compressionThreshold) {
+        this.jsonMapper = jsonMapper;
+        this.smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+        this.writeFormat = writeFormat;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            if (writeFormat == Format.JSON) return jsonMapper.writeValueAsBytes(value);
+
+            byte[] smile = smileMapper.writeValueAsBytes(value);
+            if (smile.length >= compressionThreshold) {
+                byte[] deflated = deflate(smile);
+                if (deflated.length < smile.length) return withHeader(SMILE_DEFLATED, deflated);
+            }
+            return withHeader(SMILE, smile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        return read(bytes, jsonMapper.getTypeFactory().constructType(type));
+    }
+
+    @Override
+    public <T> List<T> decodeList(byte[] bytes, Class<T> elementType) {
+        return read(bytes, jsonMapper.getTypeFactory().constructCollectionType(List.class, elementType));
+    }
+
+    private <T> T read(byte[] bytes, JavaType type) {
+        try {
+            return switch (bytes.length == 0 ? 0 : bytes[0]) {
+                case SMILE -> smileMapper.readValue(bytes, 1, bytes.length - 1, type);
+                case SMILE_DEFLATED -> smileMapper.readValue(inflate(bytes, 1), type);
+                default -> jsonMapper.readValue(bytes, type);
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode " + type, e);
+        }
+    }
+
+    private static byte[] withHeader(byte header, byte[] payload) {
+        byte[] out = new byte[payload.length + 1];
+        out[0] = header;
+        System.arraycopy(payload, 0, out, 1, payload.length);
+        return out;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            byte[] buffer = new byte[input.length];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input, int offset) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input, offset, input.length - offset);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && inflater.needsInput()) throw new IOException("Truncated deflate payload");
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt deflate payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.languageservice.domain.index;
+
+import com.example.languageservice.domain.model.LanguageLevel;
+import com.example.languageservice.domain.model.ParagraphLength;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ParagraphIndexTest {
+
+    private ParagraphIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        index = new ParagraphIndex(mock(RedisTemplate.class), mock(RedisMessageListenerContainer.class),
+                new SimpleMeterRegistry(), "paragraphs:index");
+        index.add(1, LanguageLevel.A1, ParagraphLength.SHORT, ParagraphIndex.terms("The cat sat on the mat.", null));
+        index.add(2, LanguageLevel.A1, ParagraphLength.SHORT, ParagraphIndex.terms("A cat and a dog ran home.", null));
+        index.add(3, LanguageLevel.A1, ParagraphLength.SHORT, ParagraphIndex.terms("The dog sat, the cat ran.", null));
+        index.add(4, LanguageLevel.B1, ParagraphLength.SHORT, ParagraphIndex.terms("Cat, dog, sat and ran.", null));
+        index.add(5, LanguageLevel.A1, ParagraphLength.LONG, ParagraphIndex.terms("Cat dog sat ran.", null));
+        index.markReady();
+    }
+
+    @Test
+    public void testRanksByCoverageThenNewest() {
+        List<ParagraphIndex.Match> matches = index.topMatches(List.of("cat", "Dog", "sat", "ran"),
+                LanguageLevel.A1, ParagraphLength.SHORT, 10);
+
+        assertEquals(List.of(3L, 2L, 1L), matches.stream().map(ParagraphIndex.Match::paragraphId).toList());
+        assertEquals(List.of("cat", "Dog", "sat", "ran"), matches.get(0).coveredWords());
+        assertEquals(1.0, matches.get(0).coverage());
+        assertEquals(List.of("cat", "Dog", "ran"), matches.get(1).coveredWords());
+        assertEquals(0.5, matches.get(2).coverage());
+    }
+
+    @Test
+    public void testFiltersAndLimit() {
+        assertEquals(List.of(5L, 4L), index.topMatches(List.of("cat", "dog", "sat", "ran"), null, null, 2).stream()
+                .map(ParagraphIndex.Match::paragraphId).toList());
+        assertEquals(List.of(4L), index.topMatches(List.of("cat"), LanguageLevel.B1, null, 10).stream()
+                .map(ParagraphIndex.Match::paragraphId).toList());
+        assertTrue(index.topMatches(List.of("cat"), LanguageLevel.C2, null, 10).isEmpty());
+        assertTrue(index.topMatches(List.of("unicorn"), null, null, 10).isEmpty());
+    }
+
+    @Test
+    public void testUsedWordsAreIndexedAsPhrases() {
+        index.add(6, LanguageLevel.A1, ParagraphLength.SHORT,
+                ParagraphIndex.terms("We ate ice cream.", List.of("Ice cream")));
+
+        List<ParagraphIndex.Match> matches = index.topMatches(List.of("ice cream", "ate"), LanguageLevel.A1, null, 1);
+        assertEquals(6L, matches.get(0).paragraphId());
+        assertEquals(1.0, matches.get(0).coverage());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.languageservice.domain.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SortedStringDictionaryTest {
+
+    @Test
+    public void testLookupAfterBuild() {
+        SortedStringDictionary dictionary = SortedStringDictionary.builder()
+                .add("gehen", 1L)
+                .add("ging", 1L)
+                .add("gegangen", 1L)
+                .add("Haus", 2L)
+                .add("Häuser", 2L)
+                .build();
+
+        assertEquals(5, dictionary.size());
+        assertEquals(OptionalLong.of(1L), dictionary.get("ging"));
+        assertEquals(OptionalLong.of(2L), dictionary.get("Häuser"));
+        assertTrue(dictionary.get("geh").isEmpty());
+        assertTrue(dictionary.get("gehenx").isEmpty());
+        assertTrue(dictionary.get("").isEmpty());
+    }
+
+    @Test
+    public void testFirstAddedValueWinsOnDuplicateKey() {
+        SortedStringDictionary dictionary = SortedStringDictionary.builder()
+                .add("sein", 10L)
+                .add("sein", 20L)
+                .build();
+
+        assertEquals(1, dictionary.size());
+        assertEquals(OptionalLong.of(10L), dictionary.get("sein"));
+    }
+
+    @Test
+    public void testMergeKeepsExistingEntries() {
+        SortedStringDictionary dictionary = SortedStringDictionary.builder()
+                .add("laufen", 3L)
+                .build()
+                .merge(Map.of("lief", 3L, "laufen", 99L));
+
+        assertEquals(2, dictionary.size());
+        assertEquals(OptionalLong.of(3L), dictionary.get("laufen"));
+        assertEquals(OptionalLong.of(3L), dictionary.get("lief"));
+    }
+
+    @Test
+    public void testEmptyDictionary() {
+        SortedStringDictionary dictionary = SortedStringDictionary.builder().build();
+
+        assertEquals(0, dictionary.size());
+        assertTrue(dictionary.get("x").isEmpty());
+    }
+
+    @Test
+    public void testPrefixRange() {
+        SortedStringDictionary dictionary = SortedStringDictionary.builder()
+                .add("haus", 1L)
+                .add("hausaufgabe", 2L)
+                .add("hallo", 3L)
+                .add("hund", 4L)
+                .build();
+        byte[] prefix = "hau".getBytes(StandardCharsets.UTF_8);
+
+        int first = dictionary.ceiling(prefix);
+
+        assertEquals("haus", dictionary.keyAt(first));
+        assertTrue(dictionary.keyStartsWith(first + 1, prefix));
+        assertEquals("hund", dictionary.keyAt(first + 2));
+        assertFalse(dictionary.keyStartsWith(first + 2, prefix));
+        assertEquals(dictionary.size(), dictionary.ceiling("z".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.languageservice.domain.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SymmetricDeleteIndexTest {
+
+    private final SortedStringDictionary dictionary = SortedStringDictionary.builder()
+            .add("Haus", 1L)
+            .add("Häuser", 1L)
+            .add("Maus", 2L)
+            .add("gehen", 3L)
+            .add("gegangen", 3L)
+            .build();
+
+    @Test
+    public void testFindsSingleEditTypos() {
+        SymmetricDeleteIndex index = SymmetricDeleteIndex.build(dictionary, 1);
+
+        assertEquals(1L, index.lookup("Hauss", 1, 5).getFirst().wordId());  // insertion
+        assertEquals(3L, index.lookup("gehn", 1, 5).getFirst().wordId());   // deletion
+        assertEquals(3L, index.lookup("geehn", 1, 5).getFirst().wordId());  // transposition
+    }
+
+    @Test
+    public void testRanksByDistanceThenLength() {
+        SymmetricDeleteIndex index = SymmetricDeleteIndex.build(dictionary, 1);
+
+        List<SymmetricDeleteIndex.Match> matches = index.lookup("Haus", 1, 5);
+
+        assertEquals("Haus", matches.get(0).form());
+        assertEquals(0, matches.get(0).distance());
+        assertEquals("Maus", matches.get(1).form());
+    }
+
+    @Test
+    public void testRespectsDistanceBound() {
+        SymmetricDeleteIndex index = SymmetricDeleteIndex.build(dictionary, 2);
+
+        assertTrue(index.lookup("Hxyzs", 2, 5).isEmpty());
+        assertEquals(3L, index.lookup("gegagen", 2, 5).getFirst().wordId());
+        assertTrue(index.lookup("gegagen", 0, 5).isEmpty());
+    }
+
+    @Test
+    public void testDistance() {
+        assertEquals(0, SymmetricDeleteIndex.distance("Haus", "Haus", 2));
+        assertEquals(1, SymmetricDeleteIndex.distance("Haus", "Hasu", 2));
+        assertEquals(2, SymmetricDeleteIndex.distance("Haus", "Hxux", 2));
+        assertEquals(2, SymmetricDeleteIndex.distance("Haus", "gegangen", 1));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.languageservice.domain.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Full-text paragraph lookup over a synthetic corpus of 1 000 000 paragraphs (60 words each, skewed over a
+ * 5 000-word vocabulary): the stored search_vector with its GIN index against the old per-row to_tsvector.
+ * The schema is the real schema.sql. Run with: mvn test -Dtest=ParagraphFullTextBenchmarkTest -Dbenchmark=true
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ParagraphFullTextBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ParagraphFullTextBenchmarkTest.class);
+
+    private static final int PARAGRAPHS = 1_000_000;
+    private static final int QUERIES = 200;
+    private static final int LEGACY_QUERIES = 5;
+
+    // the query ParagraphRepository.searchByContent runs
+    private static final String INDEXED = """
+            SELECT p.id
+            FROM paragraphs p
+            WHERE p.search_vector @@ plainto_tsquery('simple', ?)
+              AND (CAST(? AS SMALLINT) IS NULL OR p.level = CAST(? AS SMALLINT))
+              AND (CAST(? AS SMALLINT) IS NULL OR p.length = CAST(? AS SMALLINT))
+            ORDER BY ts_rank(p.search_vector, plainto_tsquery('simple', ?)) DESC, p.id DESC
+            LIMIT 5
+            """;
+
+    private static final String LEGACY = """
+            SELECT p.id
+            FROM paragraphs p
+            WHERE to_tsvector('simple', p.content) @@ to_tsquery(?)
+            LIMIT 5
+            """;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:13")
+            .withDatabaseName("languageservice");
+
+    private static Connection connection;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(Files.readString(Path.of("schema.sql")));
+            long start = System.currentTimeMillis();
+            // word rank skewed towards the front of the vocabulary, like natural text
+            statement.execute("""
+                    INSERT INTO paragraphs (content, level, topic, length)
+                    SELECT (SELECT string_agg('w' || floor(power(random(), 3) * 5000)::int, ' ')
+                            FROM generate_series(1, 60) w WHERE g > 0),
+                           (g % 6)::smallint, 'synthetic', (g % 3)::smallint
+                    FROM generate_series(1, %d) g
+                    """.formatted(PARAGRAPHS));
+            statement.execute("ANALYZE paragraphs");
+            log.info("Loaded {} paragraphs (vector + GIN maintained on insert) in {} ms",
+                    PARAGRAPHS, System.currentTimeMillis() - start);
+        }
+    }
+
+    @AfterAll
+    public static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void indexedSearchAgainstPerRowVector() throws SQLException {
+        Random random = new Random(42);
+        List<String> queries = new ArrayList<>();
+        // three mid-frequency words, so some but not most paragraphs match
+        for (int i = 0; i < QUERIES; i++) {
+            queries.add("w" + (200 + random.nextInt(800)) + " w" + (200 + random.nextInt(800)) + " w" + (200 + random.nextInt(800)));
+        }
+
+        long hits = 0;
+        long start = System.nanoTime();
+        try (PreparedStatement query = connection.prepareStatement(INDEXED)) {
+            for (String words : queries) {
+                bind(query, words, 1, 0);
+                try (ResultSet rows = query.executeQuery()) {
+                    while (rows.next()) hits++;
+                }
+            }
+        }
+        double indexedMs = (System.nanoTime() - start) / 1e6 / QUERIES;
+
+        start = System.nanoTime();
+        try (PreparedStatement query = connection.prepareStatement(LEGACY)) {
+            for (String words : queries.subList(0, LEGACY_QUERIES)) {
+                query.setString(1, words.replace(" ", " & "));
+                try (ResultSet rows = query.executeQuery()) {
+                    while (rows.next()) hits++;
+                }
+            }
+        }
+        double legacyMs = (System.nanoTime() - start) / 1e6 / LEGACY_QUERIES;
+
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + INDEXED)) {
+            bind(explain, queries.getFirst(), 1, 0);
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) plan.append(rows.getString(1)).append('\n');
+            }
+        }
+
+        log.info("indexed: {} ms/query, per-row to_tsvector: {} ms/query, {} rows returned\n{}",
+                indexedMs, legacyMs, hits, plan);
+        assertTrue(plan.toString().contains("idx_paragraphs_search"), "GIN index not used:\n" + plan);
+    }
+
+    private static void bind(PreparedStatement query, String words, Integer level, Integer length) throws SQLException {
+        query.setString(1, words);
+        query.setObject(2, level, Types.INTEGER);
+        query.setObject(3, level, Types.INTEGER);
+        query.setObject(4, length, Types.INTEGER);
+        query.setObject(5, length, Types.INTEGER);
+        query.setString(6, words);
+    }
+}
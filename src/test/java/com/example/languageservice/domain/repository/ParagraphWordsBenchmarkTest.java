@@ -0,0 +1,137 @@
+package com.example.languageservice.domain.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Superset (@>) and overlap (&&) lookups on paragraphs.words over 500 000 paragraphs with 12 distinct words
+ * each. Both must be GIN index scans, and an overlap query on the most common word must count at most
+ * MAX_SCAN candidates. The schema is the real schema.sql.
+ * Run with: mvn test -Dtest=ParagraphWordsBenchmarkTest -Dbenchmark=true
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ParagraphWordsBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ParagraphWordsBenchmarkTest.class);
+
+    private static final int PARAGRAPHS = 500_000;
+    private static final int QUERIES = 200;
+    private static final int MAX_SCAN = 1000;
+
+    // the queries ParagraphRepository.findSupersetMatch / findOverlapMatch run, without level and length
+    private static final String SUPERSET = """
+            SELECT p.id FROM paragraphs p
+            WHERE p.words @> CAST(? AS TEXT[])
+            ORDER BY p.id DESC
+            LIMIT 1
+            """;
+
+    private static final String OVERLAP = """
+            SELECT p.id
+            FROM (SELECT c.id, (SELECT count(*) FROM unnest(c.words) w WHERE w = ANY(CAST(? AS TEXT[]))) AS overlap
+                  FROM (SELECT id, words FROM paragraphs WHERE words && CAST(? AS TEXT[]) LIMIT %d) c) r
+            JOIN paragraphs p ON p.id = r.id
+            WHERE r.overlap >= 2
+            ORDER BY r.overlap DESC, p.id DESC
+            LIMIT 1
+            """.formatted(MAX_SCAN);
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:13")
+            .withDatabaseName("languageservice");
+
+    private static Connection connection;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(Files.readString(Path.of("schema.sql")));
+            statement.execute("""
+                    INSERT INTO paragraphs (content, level, topic, length, words)
+                    SELECT 'synthetic', (g % 6)::smallint, 'synthetic', (g % 3)::smallint,
+                           ARRAY(SELECT DISTINCT 'w' || floor(power(random(), 2) * 20000)::int
+                                 FROM generate_series(1, 12) w WHERE g > 0)
+                    FROM generate_series(1, %d) g
+                    """.formatted(PARAGRAPHS));
+            statement.execute("ANALYZE paragraphs");
+        }
+    }
+
+    @AfterAll
+    public static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void supersetAndOverlapUseTheGinIndex() throws SQLException {
+        Random random = new Random(42);
+        String[][] queries = new String[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = new String[]{"w" + random.nextInt(2000), "w" + random.nextInt(2000), "w" + random.nextInt(20000)};
+        }
+
+        log.info("superset: {} ms/query, overlap: {} ms/query", run(SUPERSET, queries), run(OVERLAP, queries));
+        assertTrue(plan(SUPERSET, queries[0]).contains("idx_paragraphs_words"));
+        assertTrue(plan(OVERLAP, queries[0]).contains("idx_paragraphs_words"));
+    }
+
+    @Test
+    public void overlapOnCommonWordCountsBoundedCandidates() throws SQLException {
+        // w0 is the most frequent word of the skewed distribution, in tens of thousands of paragraphs
+        String plan = plan("EXPLAIN (ANALYZE, COSTS OFF) " + OVERLAP, new String[]{"w0", "w1", "w15000"});
+        assertTrue(plan.contains("idx_paragraphs_words"));
+        // the per-candidate overlap count runs once per scanned candidate, not once per match
+        Matcher subPlan = Pattern.compile("SubPlan 1\\n.*?loops=(\\d+)", Pattern.DOTALL).matcher(plan);
+        assertTrue(subPlan.find(), plan);
+        assertTrue(Integer.parseInt(subPlan.group(1)) <= MAX_SCAN, plan);
+    }
+
+    private static double run(String sql, String[][] queries) throws SQLException {
+        long start = System.nanoTime();
+        try (PreparedStatement query = connection.prepareStatement(sql)) {
+            for (String[] words : queries) {
+                bind(query, words);
+                try (ResultSet rows = query.executeQuery()) {
+                    while (rows.next()) rows.getLong(1);
+                }
+            }
+        }
+        return (System.nanoTime() - start) / 1e6 / queries.length;
+    }
+
+    private static String plan(String sql, String[] words) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        String statement = sql.startsWith("EXPLAIN") ? sql : "EXPLAIN " + sql;
+        try (PreparedStatement explain = connection.prepareStatement(statement)) {
+            bind(explain, words);
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) plan.append(rows.getString(1)).append('\n');
+            }
+        }
+        log.info("{}", plan);
+        return plan.toString();
+    }
+
+    private static void bind(PreparedStatement query, String[] words) throws SQLException {
+        Array array = connection.createArrayOf("text", words);
+        for (int i = 1; i <= query.getParameterMetaData().getParameterCount(); i++) query.setArray(i, array);
+    }
+}
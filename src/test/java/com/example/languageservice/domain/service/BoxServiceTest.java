@@ -0,0 +1,111 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.domain.model.UserWord;
+import com.example.languageservice.domain.model.Word;
+import com.example.languageservice.domain.repository.BoxRepository;
+import com.example.languageservice.domain.repository.DueScheduleEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class BoxServiceTest {
+
+    @Mock
+    private BoxRepository boxRepository;
+
+    @Mock
+    private WordService wordService;
+
+    @Mock
+    private RedisService redisService;
+
+    @InjectMocks
+    private BoxService boxService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final Instant lastSeen = Instant.now().minus(10, ChronoUnit.DAYS);
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // word 1 was due two days ago, word 2 five days ago, word 3 is not due yet
+        when(wordService.findDueScheduleEntries(userId)).thenReturn(List.of(
+                new DueScheduleEntry(1L, lastSeen, 8),
+                new DueScheduleEntry(2L, lastSeen, 5),
+                new DueScheduleEntry(3L, lastSeen, 30)));
+        when(wordService.findUserWords(eq(userId), any())).thenReturn(List.of(userWord(1L), userWord(2L)));
+    }
+
+    @Test
+    public void testScheduleIsRebuiltFromTheDbOnFirstUse() {
+        when(redisService.isDueScheduleLoaded(userId)).thenReturn(false);
+        when(redisService.getDueWordIds(eq(userId), any(), anyInt())).thenReturn(List.of(2L, 1L));
+
+        List<UserWord> due = boxService.getDueWords(userId);
+
+        verify(redisService).replaceDueScheduleFromDb(userId, Map.of(
+                1L, lastSeen.plus(8, ChronoUnit.DAYS),
+                2L, lastSeen.plus(5, ChronoUnit.DAYS),
+                3L, lastSeen.plus(30, ChronoUnit.DAYS)));
+        assertEquals(List.of(2L, 1L), wordIds(due));
+    }
+
+    @Test
+    public void testLoadedScheduleIsServedWithoutTheDbRanking() {
+        when(redisService.isDueScheduleLoaded(userId)).thenReturn(true);
+        when(redisService.getDueWordIds(eq(userId), any(), anyInt())).thenReturn(List.of(1L, 2L));
+
+        List<UserWord> due = boxService.getDueWords(userId);
+
+        verify(wordService, never()).findDueScheduleEntries(any());
+        verify(redisService, never()).replaceDueScheduleFromDb(any(), anyMap());
+        verify(wordService).findUserWords(userId, List.of(1L, 2L));
+        assertEquals(List.of(1L, 2L), wordIds(due));
+    }
+
+    @Test
+    public void testDueWordsAreRankedFromTheDbWhileRedisIsUnavailable() {
+        // the guard reports "not loaded" and a null range while the breaker is open
+        when(redisService.isDueScheduleLoaded(userId)).thenReturn(false);
+        when(redisService.getDueWordIds(eq(userId), any(), anyInt())).thenReturn(null);
+
+        List<UserWord> due = boxService.getDueWords(userId);
+
+        verify(wordService, times(1)).findDueScheduleEntries(userId);
+        verify(wordService).findUserWords(userId, List.of(2L, 1L));
+        assertEquals(List.of(2L, 1L), wordIds(due));
+    }
+
+    @Test
+    public void testNothingDueSkipsTheWordLookup() {
+        when(redisService.isDueScheduleLoaded(userId)).thenReturn(true);
+        when(redisService.getDueWordIds(eq(userId), any(), anyInt())).thenReturn(List.of());
+
+        assertEquals(List.of(), boxService.getDueWords(userId));
+
+        verify(wordService, never()).findUserWords(any(), any());
+    }
+
+    private static UserWord userWord(long wordId) {
+        return UserWord.builder().word(Word.builder().id(wordId).build()).build();
+    }
+
+    private static List<Long> wordIds(List<UserWord> userWords) {
+        return userWords.stream().map(uw -> uw.getWord().getId()).toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.ParagraphResponse;
+import com.example.languageservice.config.AiModelSettings;
+import com.example.languageservice.domain.model.AiPromptPayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LlmServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+    private LlmService llmService;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.start();
+        AiModelSettings settings = mock(AiModelSettings.class);
+        when(settings.getBaseUrl()).thenReturn("http://localhost:" + server.getAddress().getPort());
+        llmService = new LlmService(new ObjectMapper(), settings, Duration.ofMillis(500));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void testMalformedMetadataKeepsTheStreamedText() throws Exception {
+        respond(false, "Der Hund läuft.", "###META###", "{\"usedWords\": [\"Hund\"");
+
+        ParagraphResponse response = llmService.streamContent(AiPromptPayload.builder().build(), text -> {});
+
+        assertEquals("Der Hund läuft.", response.getText());
+        assertEquals(List.of(), response.getUsedWords());
+    }
+
+    @Test
+    public void testStalledStreamTimesOut() {
+        respond(true, "Der Hund ");
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThrows(HttpTimeoutException.class, () -> llmService.streamContent(AiPromptPayload.builder().build(), text -> {})));
+    }
+
+    // one SSE chunk per delta; a stalled response never sends [DONE] and stays open until the test ends
+    private void respond(boolean stall, String... deltas) {
+        server.createContext("/chat/completions", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (String delta : deltas) {
+                    write(out, "data: {\"choices\":[{\"delta\":{\"content\":"
+                            + new ObjectMapper().writeValueAsString(delta) + "}}]}\n\n");
+                }
+                if (stall) release.await();
+                write(out, "data: [DONE]\n\n");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private static void write(OutputStream out, String event) throws IOException {
+        out.write(event.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
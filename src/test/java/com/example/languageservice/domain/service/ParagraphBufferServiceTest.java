@@ -0,0 +1,109 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.ParagraphRequest;
+import com.example.languageservice.api.dto.ParagraphResponse;
+import com.example.languageservice.domain.model.Paragraph;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ParagraphBufferServiceTest {
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private LlmService llmService;
+
+    @Mock
+    private ParagraphService paragraphService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ParagraphBufferService bufferService;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        bufferService = new ParagraphBufferService(redisService, llmService, paragraphService, meterRegistry,
+                5, 20, 3, Duration.ofHours(24), Duration.ofHours(6), 10, Duration.ofMinutes(5));
+        when(redisService.isAvailable()).thenReturn(true);
+        when(redisService.tryAcquireLease(anyString(), anyString(), any())).thenReturn(true);
+        when(redisService.tryConsumeRate(anyString(), anyLong(), any())).thenReturn(true);
+        when(llmService.generateContent(any())).thenReturn(ParagraphResponse.builder().text("Neu.").usedWords(List.of()).build());
+        when(paragraphService.storeGenerated(any(ParagraphRequest.class), any())).thenReturn(Paragraph.builder().id(9L).build());
+    }
+
+    @Test
+    public void testBufferIsToppedUpToTargetSize() throws Exception {
+        demand("A1:SHORT:");
+        when(redisService.bufferedParagraphCount("A1:SHORT:")).thenReturn(3L);
+
+        bufferService.refillBuffers();
+
+        verify(redisService, times(2)).pushBufferedParagraph("A1:SHORT:", 9L);
+        verify(redisService).releaseLease(eq("paragraphBuffer:A1:SHORT:"), anyString());
+        assertEquals(2, meterRegistry.counter("paragraph.buffer.refilled", "level", "A1", "length", "SHORT").count());
+    }
+
+    @Test
+    public void testFullBuffersAndMalformedKeysAreSkipped() throws Exception {
+        demand("nonsense", "B1:LONG:");
+        when(redisService.bufferedParagraphCount("B1:LONG:")).thenReturn(5L);
+
+        bufferService.refillBuffers();
+
+        verify(redisService, never()).tryAcquireLease(anyString(), anyString(), any());
+        verifyNoInteractions(llmService);
+    }
+
+    @Test
+    public void testRateLimitStopsTheRunAndReleasesTheLease() throws Exception {
+        demand("A1:SHORT:", "B1:LONG:");
+        when(redisService.tryConsumeRate(anyString(), anyLong(), any())).thenReturn(true, false);
+
+        bufferService.refillBuffers();
+
+        verify(llmService, times(1)).generateContent(any());
+        verify(redisService).releaseLease(eq("paragraphBuffer:A1:SHORT:"), anyString());
+        verify(redisService, never()).bufferedParagraphCount("B1:LONG:");
+        assertEquals(1, meterRegistry.counter("paragraph.buffer.rate.limited", "level", "A1", "length", "SHORT").count());
+    }
+
+    @Test
+    public void testLeaseHeldElsewhereSkipsTheCombination() throws Exception {
+        demand("A1:SHORT:");
+        when(redisService.tryAcquireLease(anyString(), anyString(), any())).thenReturn(false);
+
+        bufferService.refillBuffers();
+
+        verifyNoInteractions(llmService);
+        verify(redisService, never()).releaseLease(anyString(), anyString());
+    }
+
+    @Test
+    public void testNothingHappensWhileRedisIsUnavailable() {
+        when(redisService.isAvailable()).thenReturn(false);
+
+        bufferService.refillBuffers();
+
+        verify(redisService, never()).topParagraphDemand(any(), any(), anyDouble(), anyInt());
+    }
+
+    private void demand(String... keys) {
+        when(redisService.topParagraphDemand(any(), any(), anyDouble(), anyInt())).thenReturn(List.of(keys));
+    }
+}
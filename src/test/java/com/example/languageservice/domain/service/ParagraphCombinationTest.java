@@ -0,0 +1,44 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.ParagraphRequest;
+import com.example.languageservice.domain.model.LanguageLevel;
+import com.example.languageservice.domain.model.ParagraphLength;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParagraphCombinationTest {
+
+    @Test
+    public void testTopicIsNormalizedIntoTheKey() {
+        ParagraphRequest request = new ParagraphRequest();
+        request.setLanguageLevel(LanguageLevel.B1);
+        request.setLength(ParagraphLength.SHORT);
+        request.setTopic("  Daily Life: Work ");
+
+        ParagraphCombination combination = ParagraphCombination.of(request);
+
+        assertEquals("B1:SHORT:daily life: work", combination.key());
+        // the topic may contain the separator; only the first two ':' split
+        assertEquals(combination, ParagraphCombination.parse(combination.key()));
+        assertEquals("daily life: work", combination.toRequest().getTopic());
+        assertTrue(combination.toRequest().getSelectedWords().isEmpty());
+    }
+
+    @Test
+    public void testMissingTopicMeansAny() {
+        ParagraphCombination combination = ParagraphCombination.parse("A1:LONG:");
+
+        assertEquals("", combination.topic());
+        assertNull(combination.toRequest().getTopic());
+    }
+
+    @Test
+    public void testRejectsIncompleteRequestsAndKeys() {
+        assertNull(ParagraphCombination.of(new ParagraphRequest()));
+        assertNull(ParagraphCombination.parse("A1:SHORT"));
+        assertNull(ParagraphCombination.parse("Z9:SHORT:x"));
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.ParagraphRequest;
+import com.example.languageservice.api.dto.ParagraphResponse;
+import com.example.languageservice.domain.index.ParagraphIndex;
+import com.example.languageservice.domain.model.LanguageLevel;
+import com.example.languageservice.domain.model.Paragraph;
+import com.example.languageservice.domain.model.ParagraphLength;
+import com.example.languageservice.domain.model.UserParagraph;
+import com.example.languageservice.domain.repository.ParagraphRepository;
+import com.example.languageservice.domain.repository.UserParagraphRepository;
+import com.example.languageservice.security.SecurityUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ParagraphServiceTest {
+
+    @Mock
+    private ParagraphRepository paragraphRepository;
+
+    @Mock
+    private UserParagraphRepository userParagraphRepository;
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private LlmService llmService;
+
+    @Mock
+    private ParagraphIndex paragraphIndex;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ParagraphService paragraphService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisService.findSupersetParagraphs(any(), anyInt())).thenReturn(Map.of());
+        when(paragraphRepository.findSupersetMatch(any(), any(), any(), anyInt())).thenReturn(List.of());
+        when(paragraphRepository.searchByContent(anyString(), any(), any(), anyInt())).thenReturn(List.of());
+        when(paragraphRepository.findOverlapMatch(any(), anyInt(), any(), any(), anyInt(), anyInt())).thenReturn(List.of());
+        when(paragraphIndex.isReady()).thenReturn(true);
+        when(paragraphIndex.topMatches(any(), any(), any(), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    public void testRedisHitIsServedWithoutTouchingTheDb() throws Exception {
+        ParagraphResponse cached = ParagraphResponse.builder().text("Der Hund.").build();
+        when(redisService.findSupersetParagraphs(Set.of("Hund", "Katze"), 1)).thenReturn(Map.of(7L, cached));
+
+        assertSame(cached, generate(request("Hund", "Katze")));
+
+        verifyNoInteractions(paragraphRepository, llmService);
+        verify(userParagraphRepository).save(any(UserParagraph.class));
+        assertEquals(1, served("redis"));
+    }
+
+    @Test
+    public void testIndexMatchBelowCoverageFallsThroughToSuperset() throws Exception {
+        when(paragraphIndex.topMatches(any(), eq(LanguageLevel.A1), eq(ParagraphLength.SHORT), anyInt()))
+                .thenReturn(List.of(new ParagraphIndex.Match(1L, List.of("hund"), 2)));
+        when(paragraphRepository.findSupersetMatch(any(), eq(0), eq(0), eq(1)))
+                .thenReturn(List.of(paragraph(2L, "hund", "katze")));
+
+        ParagraphResponse response = generate(request("Hund", "Katze"));
+
+        assertEquals("Text 2", response.getText());
+        verify(paragraphRepository, never()).findById(1L);
+        assertEquals(1, served("superset"));
+    }
+
+    @Test
+    public void testOverlapIsRankedInTheDbWhileTheIndexLoads() throws Exception {
+        when(paragraphIndex.isReady()).thenReturn(false);
+        when(paragraphRepository.findOverlapMatch(any(), eq(2), eq(0), eq(0), eq(1000), eq(1)))
+                .thenReturn(List.of(paragraph(3L, "hund", "katze", "maus")));
+
+        ParagraphResponse response = generate(request("Hund", "Katze"));
+
+        assertEquals("Text 3", response.getText());
+        assertEquals(Set.of("Hund", "Katze"), Set.copyOf(response.getUsedWords()));
+        verify(paragraphIndex, never()).topMatches(any(), any(), any(), anyInt());
+        assertEquals(1, served("overlap"));
+    }
+
+    @Test
+    public void testBufferSkipsDeletedParagraphs() throws Exception {
+        when(redisService.popBufferedParagraph("A1:SHORT:")).thenReturn(4L, 5L);
+        when(paragraphRepository.findById(4L)).thenReturn(Optional.empty());
+        when(paragraphRepository.findById(5L)).thenReturn(Optional.of(paragraph(5L, "haus")));
+
+        ParagraphResponse response = generate(request());
+
+        assertEquals("Text 5", response.getText());
+        verify(redisService).recordParagraphDemand(eq("A1:SHORT:"), any());
+        verifyNoInteractions(llmService);
+        assertEquals(1, served("buffer"));
+    }
+
+    @Test
+    public void testTranslatedRequestBypassesTheBuffer() throws Exception {
+        ParagraphRequest request = request();
+        request.setTranslationLanguage("en");
+        when(llmService.generateContent(any())).thenReturn(ParagraphResponse.builder().text("Neu.").usedWords(List.of()).build());
+        when(paragraphRepository.save(any(Paragraph.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 9L));
+
+        generate(request);
+
+        verify(redisService, never()).recordParagraphDemand(anyString(), any());
+        verify(redisService, never()).popBufferedParagraph(anyString());
+    }
+
+    @Test
+    public void testLlmResultIsStoredCachedAndIndexed() throws Exception {
+        ParagraphResponse generated = ParagraphResponse.builder().text("Der Bahnhof.").usedWords(List.of("Bahnhof")).build();
+        when(llmService.generateContent(any())).thenReturn(generated);
+        when(paragraphRepository.save(any(Paragraph.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 9L));
+
+        assertSame(generated, generate(request("Bahnhof")));
+
+        verify(redisService).saveParagraph(9L, List.of("Bahnhof"), generated);
+        verify(paragraphIndex).addParagraph(9L, LanguageLevel.A1, ParagraphLength.SHORT, "Der Bahnhof.", List.of("Bahnhof"));
+        verify(userParagraphRepository).save(any(UserParagraph.class));
+        assertEquals(1, served("llm"));
+    }
+
+    @Test
+    public void testStoredParagraphReachesRedisOnlyAfterCommit() {
+        ParagraphResponse generated = ParagraphResponse.builder().text("Der Bahnhof.").usedWords(List.of("Bahnhof")).build();
+        when(paragraphRepository.save(any(Paragraph.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 9L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            paragraphService.storeGenerated(request("Bahnhof"), generated);
+            verify(redisService, never()).saveParagraph(anyLong(), any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(redisService).saveParagraph(9L, List.of("Bahnhof"), generated);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private ParagraphResponse generate(ParagraphRequest request) throws Exception {
+        try (MockedStatic<SecurityUtils> mocked = mockStatic(SecurityUtils.class)) {
+            mocked.when(SecurityUtils::getCurrentUserId).thenReturn(userId);
+            return paragraphService.generateParagraph(request);
+        }
+    }
+
+    private double served(String source) {
+        return meterRegistry.counter("paragraph.requests", "source", source).count();
+    }
+
+    private static ParagraphRequest request(String... words) {
+        ParagraphRequest request = new ParagraphRequest();
+        request.setLanguageLevel(LanguageLevel.A1);
+        request.setLength(ParagraphLength.SHORT);
+        request.setSelectedWords(List.of(words));
+        return request;
+    }
+
+    private static Paragraph paragraph(long id, String... words) {
+        return Paragraph.builder()
+                .id(id)
+                .content("Text " + id)
+                .level(LanguageLevel.A1)
+                .length(ParagraphLength.SHORT)
+                .words(List.of(words))
+                .build();
+    }
+
+    private static Paragraph withId(Paragraph paragraph, long id) {
+        paragraph.setId(id);
+        return paragraph;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.languageservice.domain.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Memory report for the assigned-word encodings (SET vs BITMAP).
+ * Run with: mvn test -Dtest=RedisAssignedEncodingBenchmarkTest -Dbenchmark=true
+ */
+public class RedisAssignedEncodingBenchmarkTest extends RedisBenchmarkSupport {
+
+    private static final int CATALOG_SIZE = 200_000;
+
+    @Test
+    public void reportMemoryPerUser() {
+        RedisService sets = service(RedisService.AssignedEncoding.SET);
+        RedisService bitmaps = service(RedisService.AssignedEncoding.BITMAP);
+        Random random = new Random(42);
+
+        for (int assigned : new int[]{50, 500, 5_000, 50_000}) {
+            List<Long> ids = random.longs(assigned, 0, CATALOG_SIZE).distinct().boxed().toList();
+            UUID setUser = UUID.randomUUID();
+            UUID bitmapUser = UUID.randomUUID();
+            sets.addUserAssignedWords(setUser, "A1", "de", ids);
+            bitmaps.addUserAssignedWords(bitmapUser, "A1", "de", ids);
+
+            report("{} assigned: set {} bytes, bitmap {} bytes", ids.size(),
+                    memoryUsage(TestRedisServices.LAYOUT.userAssigned(setUser, "A1", "de")),
+                    memoryUsage(TestRedisServices.LAYOUT.userAssignedBits(bitmapUser, "A1", "de")));
+        }
+    }
+
+    private static RedisService service(RedisService.AssignedEncoding encoding) {
+        RedisService redisService = TestRedisServices.create(redisTemplate);
+        ReflectionTestUtils.setField(redisService, "assignedEncoding", encoding);
+        return redisService;
+    }
+
+    private static long memoryUsage(String key) {
+        Object result = redisTemplate.execute((RedisCallback<Object>) connection -> connection.execute("MEMORY",
+                "USAGE".getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8)));
+        return result == null ? 0 : ((Number) result).longValue();
+    }
+}
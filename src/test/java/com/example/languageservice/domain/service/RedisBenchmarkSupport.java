@@ -0,0 +1,55 @@
+package com.example.languageservice.domain.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Shared setup of the Redis benchmarks: a redis:7-alpine container per benchmark class and a
+ * {@link RedisService} wired like RedisConfig does. Benchmarks only time and report; the behaviour they
+ * exercise is asserted by {@link RedisServiceContainerTest} and the service unit tests.
+ * Skipped unless run with -Dbenchmark=true.
+ */
+abstract class RedisBenchmarkSupport {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisBenchmarkSupport.class);
+
+    private static GenericContainer<?> redisContainer;
+    private static LettuceConnectionFactory connectionFactory;
+    protected static StringRedisTemplate redisTemplate;
+    protected static RedisService redisService;
+
+    @BeforeAll
+    public static void startRedis() {
+        assumeTrue(Boolean.getBoolean("benchmark"), "benchmarks run with -Dbenchmark=true");
+        redisContainer = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+        redisContainer.start();
+        connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(), redisContainer.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisService = TestRedisServices.create(redisTemplate);
+    }
+
+    @AfterAll
+    public static void stopRedis() {
+        if (connectionFactory != null) connectionFactory.destroy();
+        if (redisContainer != null) redisContainer.stop();
+        connectionFactory = null;
+        redisContainer = null;
+    }
+
+    /** Mean microseconds per iteration, from the total nanoseconds of {@code iterations} runs. */
+    protected static long micros(long nanos, int iterations) {
+        return nanos / iterations / 1000;
+    }
+
+    protected static void report(String format, Object... args) {
+        log.info(format, args);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.ParagraphResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.FixedHostPortGenericContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the multi-key operations of {@link RedisService} and the key migration against a local six-node
+ * cluster (three masters). Without hash tags the scripts and SINTERs here fail with CROSSSLOT.
+ * Run with: mvn test -Dtest=RedisClusterLayoutTest -Dcluster=true
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "cluster", matches = "true")
+public class RedisClusterLayoutTest {
+
+    private static final List<Integer> PORTS = List.of(7000, 7001, 7002, 7003, 7004, 7005);
+
+    // nodes announce their own ports, so host and container ports have to match
+    @Container
+    @SuppressWarnings("deprecation")
+    private static final GenericContainer<?> cluster = withPorts(new FixedHostPortGenericContainer<>("grokzen/redis-cluster:7.0.10"))
+            .withEnv("IP", "0.0.0.0")
+            .waitingFor(Wait.forLogMessage(".*Cluster state changed: ok.*", 6));
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+    private static final RedisKeyLayout layout = new RedisKeyLayout(4, 8, true);
+    private static RedisService redisService;
+
+    @SuppressWarnings("deprecation")
+    private static FixedHostPortGenericContainer<?> withPorts(FixedHostPortGenericContainer<?> container) {
+        PORTS.forEach(port -> container.withFixedExposedPort(port, port));
+        return container;
+    }
+
+    @BeforeAll
+    public static void setUp() {
+        connectionFactory = new LettuceConnectionFactory(new RedisClusterConfiguration(
+                PORTS.stream().map(port -> "127.0.0.1:" + port).toList()));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisService = TestRedisServices.create(redisTemplate, layout);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    public void unseenSamplingRunsOnEveryReplica() {
+        redisService.addLevelWordIds("A1", "de", LongStream.range(0, 1_000).boxed().toList());
+        for (int i = 0; i < 20; i++) {
+            UUID userId = UUID.randomUUID();
+            redisService.loadUserAssignedFromDb(userId, "A1", "de", LongStream.range(0, 990).boxed().toList());
+            assertTrue(redisService.isUserAssignedMirrorLoaded(userId, "A1", "de"));
+
+            assertEquals(Set.copyOf(LongStream.range(990, 1_000).boxed().toList()),
+                    Set.copyOf(redisService.getUnseenWordsForUser(userId, "A1", "de")));
+            List<Long> sampled = redisService.getRandomUnseenWordsForUser(userId, "A1", "de", 5);
+            assertEquals(5, sampled.size());
+            assertTrue(sampled.stream().allMatch(id -> id >= 990));
+        }
+        assertEquals(1_000, redisService.getLevelPoolSize("A1", "de"));
+    }
+
+    @Test
+    public void supersetLookupSpansShards() {
+        IntStream.range(0, 64).forEach(i -> {
+            List<String> words = i % 8 == 0 ? List.of("und", "bahnhof") : List.of("und");
+            redisService.saveParagraph(100L + i, words, ParagraphResponse.builder().text("T" + i).usedWords(words).build());
+        });
+
+        assertEquals(8, redisService.intersectWords(Set.of("und", "bahnhof")).size());
+        Map<Long, ParagraphResponse> found = redisService.findSupersetParagraphs(Set.of("und", "bahnhof"), 3);
+        assertEquals(3, found.size());
+        found.keySet().forEach(id -> assertEquals(4, id % 8));
+        assertEquals(2, redisService.getParagraphs(List.of(100L, 101L)).size());
+    }
+
+    @Test
+    public void migrationMovesLegacyParagraphKeys() {
+        redisTemplate.opsForValue().set("para:9001", "{\"text\":\"Alt\",\"usedWords\":[\"zug\"]}");
+        redisTemplate.opsForSet().add("word:zug", "para:9001");
+        redisTemplate.opsForSet().add("level:C2:de:wordIds", "1", "2");
+
+        new RedisKeyMigration(redisService, redisTemplate, layout, true, Duration.ofMinutes(1)).migrate();
+
+        assertFalse(Boolean.TRUE.equals(redisTemplate.hasKey("para:9001")));
+        assertFalse(Boolean.TRUE.equals(redisTemplate.hasKey("word:zug")));
+        assertFalse(Boolean.TRUE.equals(redisTemplate.hasKey("level:C2:de:wordIds")));
+        // legacy JSON content is still readable through the codec
+        assertEquals("Alt", redisService.findSupersetParagraphs(Set.of("zug"), 1).get(9001L).getText());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.languageservice.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Due-word reads and review re-scoring on the per-user sorted set, for a user with 5 000 words.
+ * Run with: mvn test -Dtest=RedisDueScheduleBenchmarkTest -Dbenchmark=true
+ */
+public class RedisDueScheduleBenchmarkTest extends RedisBenchmarkSupport {
+
+    private static final int WORDS = 5_000;
+    private static final int ITERATIONS = 1_000;
+
+    @Test
+    public void reviewAndReadDueWords() {
+        UUID userId = UUID.randomUUID();
+        Instant now = Instant.now();
+        Map<Long, Instant> schedule = new HashMap<>();
+        // a tenth of the words is overdue
+        for (long id = 0; id < WORDS; id++) {
+            schedule.put(id, id % 10 == 0 ? now.minus(Duration.ofMinutes(WORDS - id)) : now.plus(Duration.ofDays(3)));
+        }
+        redisService.replaceDueScheduleFromDb(userId, schedule);
+
+        long review = 0, read = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            redisService.scheduleReview(userId, (long) (i % WORDS), now.plus(Duration.ofDays(7)));
+            review += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            redisService.getDueWordIds(userId, now, 20);
+            read += System.nanoTime() - start;
+        }
+        report("review ZADD {} µs, due ZRANGEBYSCORE {} µs", micros(review, ITERATIONS), micros(read, ITERATIONS));
+    }
+}
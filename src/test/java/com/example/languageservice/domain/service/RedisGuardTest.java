@@ -0,0 +1,120 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.domain.utils.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RedisGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RedisGuard guard = new RedisGuard(meterRegistry, 2, Duration.ZERO, 3, 100);
+    private final AtomicBoolean down = new AtomicBoolean();
+
+    @Test
+    public void testReadFallsBackAndOpensBreaker() {
+        down.set(true);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals("local", guard.read("get", () -> redis(calls), () -> "local"));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.state());
+        assertEquals(2, meterRegistry.counter("redis.fallback", "operation", "get").count());
+    }
+
+    @Test
+    public void testWritesAreReplayedInOrderAfterRecovery() {
+        List<String> applied = new ArrayList<>();
+        down.set(true);
+        guard.write("zadd", "user:1", () -> apply(applied, "a1"));
+        guard.write("sadd", null, () -> apply(applied, "b"));
+        guard.write("zadd", "user:1", () -> apply(applied, "a2")); // supersedes a1
+        assertEquals(2, guard.pendingCount());
+
+        down.set(false);
+        guard.replayPending();
+
+        assertEquals(List.of("b", "a2"), applied);
+        assertEquals(0, guard.pendingCount());
+        assertEquals(CircuitBreaker.State.CLOSED, guard.state());
+    }
+
+    @Test
+    public void testReplayQueueIsBounded() {
+        down.set(true);
+        for (int i = 0; i < 5; i++) {
+            int n = i;
+            guard.write("sadd", null, () -> apply(new ArrayList<>(), "x" + n));
+        }
+        assertEquals(3, guard.pendingCount());
+        assertEquals(2, meterRegistry.counter("redis.replay.dropped").count());
+    }
+
+    @Test
+    public void testProbeFailingWithOtherExceptionReleasesTheBreaker() {
+        down.set(true);
+        for (int i = 0; i < 2; i++) guard.read("get", () -> redis(new AtomicInteger()), () -> "local");
+        assertEquals(CircuitBreaker.State.OPEN, guard.state());
+
+        // open duration is zero, so this call is the half-open probe
+        assertThrows(IllegalStateException.class, () -> guard.read("get", () -> {
+            throw new IllegalStateException("bad reply");
+        }, () -> "local"));
+        assertEquals(CircuitBreaker.State.OPEN, guard.state());
+
+        down.set(false);
+        assertEquals("redis", guard.read("get", () -> redis(new AtomicInteger()), () -> "local"));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.state());
+    }
+
+    @Test
+    public void testPermanentlyFailingReplayIsDropped() {
+        List<String> applied = new ArrayList<>();
+        down.set(true);
+        guard.write("sadd", null, () -> {
+            if (down.get()) throw new RedisConnectionFailureException("down");
+            throw new IllegalArgumentException("cannot serialize");
+        });
+        guard.write("zadd", null, () -> apply(applied, "b"));
+
+        down.set(false);
+        guard.replayPending();
+        guard.replayPending();
+
+        assertEquals(List.of("b"), applied);
+        assertEquals(0, guard.pendingCount());
+        assertEquals(1, meterRegistry.counter("redis.replay.dropped").count());
+    }
+
+    @Test
+    public void testLocalCopyIsTyped() {
+        guard.remember("para:1", new byte[]{1});
+        assertEquals(1, guard.recall("para:1", byte[].class).length);
+        assertNull(guard.recall("para:1", String.class));
+        guard.forget("para:1");
+        assertNull(guard.recall("para:1", byte[].class));
+    }
+
+    private String redis(AtomicInteger calls) {
+        calls.incrementAndGet();
+        if (down.get()) throw new RedisConnectionFailureException("down");
+        return "redis";
+    }
+
+    private void apply(List<String> applied, String value) {
+        if (down.get()) throw new RedisConnectionFailureException("down");
+        applied.add(value);
+    }
+}
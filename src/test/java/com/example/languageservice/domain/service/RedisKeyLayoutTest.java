@@ -0,0 +1,71 @@
+package com.example.languageservice.domain.service;
+
+import io.lettuce.core.cluster.SlotHash;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RedisKeyLayoutTest {
+
+    private final RedisKeyLayout layout = new RedisKeyLayout(4, 16, true);
+
+    @Test
+    public void testUnseenScriptKeysShareOneSlot() {
+        for (int i = 0; i < 100; i++) {
+            UUID userId = UUID.randomUUID();
+            List<String> keys = List.of(
+                    layout.levelWordIds(userId, "A1", "de"),
+                    layout.userAssigned(userId, "A1", "de"),
+                    layout.unseenTmp(userId, "A1", "de"),
+                    layout.userAssignedBits(userId, "A1", "de"),
+                    layout.userAssignedSynced(userId, "A1", "de"));
+            assertEquals(1, keys.stream().map(SlotHash::getSlot).distinct().count(), keys.toString());
+            assertTrue(layout.levelWordIdsReplicas("A1", "de").contains(keys.getFirst()));
+        }
+    }
+
+    @Test
+    public void testParagraphAndItsWordEntriesShareOneSlot() {
+        for (long id = 0; id < 100; id++) {
+            int shard = layout.shardOf(id);
+            int slot = SlotHash.getSlot(layout.paragraph(id));
+            for (String word : List.of("und", "bahnhof", "straße")) {
+                assertEquals(slot, SlotHash.getSlot(layout.wordIndex(word, shard)));
+            }
+            assertEquals(id, RedisKeyLayout.paragraphIdOf(layout.paragraph(id)));
+        }
+        assertEquals(42L, RedisKeyLayout.paragraphIdOf("para:42"));
+    }
+
+    @Test
+    public void testDefaultLayoutKeepsLegacyNames() {
+        RedisKeyLayout standalone = new RedisKeyLayout(1, 1, false);
+        UUID userId = UUID.randomUUID();
+        assertFalse(standalone.hashTagged());
+        assertEquals("para:42", standalone.paragraph(42));
+        assertEquals("word:und", standalone.wordIndex("und", 0));
+        assertEquals(List.of("level:A1:de:wordIds"), standalone.levelWordIdsReplicas("A1", "de"));
+        assertEquals("user:" + userId + ":A1:de:assigned", standalone.userAssigned(userId, "A1", "de"));
+        assertTrue(new RedisKeyLayout(1, 2, false).hashTagged());
+        assertTrue(new RedisKeyLayout(1, 1, true).hashTagged());
+    }
+
+    @Test
+    public void testReplicasAndShardsSpreadOverSlots() {
+        Set<Integer> poolSlots = new HashSet<>();
+        layout.levelWordIdsReplicas("B1", "de").forEach(k -> poolSlots.add(SlotHash.getSlot(k)));
+        assertEquals(4, poolSlots.size());
+
+        Set<Integer> shardSlots = new HashSet<>();
+        IntStream.range(0, 16).forEach(s -> shardSlots.add(SlotHash.getSlot(layout.wordIndex("und", s))));
+        assertEquals(16, shardSlots.size());
+    }
+}
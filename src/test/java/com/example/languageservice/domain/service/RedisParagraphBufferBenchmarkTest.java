@@ -0,0 +1,35 @@
+package com.example.languageservice.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+/**
+ * Cost of recording paragraph demand on the request path and of ranking it for the buffer refill.
+ * Run with: mvn test -Dtest=RedisParagraphBufferBenchmarkTest -Dbenchmark=true
+ */
+public class RedisParagraphBufferBenchmarkTest extends RedisBenchmarkSupport {
+
+    private static final Duration WINDOW = Duration.ofHours(24);
+    private static final Duration HALF_LIFE = Duration.ofHours(6);
+    private static final int RECORDS = 10_000;
+    private static final int ITERATIONS = 200;
+
+    @Test
+    public void recordAndRankDemand() {
+        long start = System.nanoTime();
+        for (int i = 0; i < RECORDS; i++) {
+            // topic k gets 1/2^(k+1) of the requests
+            redisService.recordParagraphDemand("A1:SHORT:topic" + Integer.numberOfTrailingZeros(i + 1), WINDOW);
+        }
+        long record = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            redisService.topParagraphDemand(WINDOW, HALF_LIFE, 1_000, 10);
+        }
+        long rank = System.nanoTime() - start;
+        report("recordParagraphDemand {} µs/request, topParagraphDemand {} µs/run",
+                micros(record, RECORDS), micros(rank, ITERATIONS));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.ParagraphResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Per-command paragraph indexing versus one pipelined round trip for a 120-word paragraph.
+ * Run with: mvn test -Dtest=RedisParagraphPipelineBenchmarkTest -Dbenchmark=true
+ */
+public class RedisParagraphPipelineBenchmarkTest extends RedisBenchmarkSupport {
+
+    private static final int ITERATIONS = 200;
+
+    @Test
+    public void compareSequentialAndPipelinedIndexing() {
+        List<String> words = IntStream.range(0, 120).mapToObj(i -> "wort" + i).toList();
+        ParagraphResponse response = ParagraphResponse.builder().text("Ein Text.").usedWords(words).build();
+
+        long sequential = 0, pipelined = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            redisService.saveParagraphIndex((long) i, words.subList(0, 1)); // warm connection
+            for (String word : words) redisService.saveParagraphIndex((long) i, List.of(word));
+            redisService.saveParagraphContent((long) i, response);
+            sequential += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            redisService.saveParagraph(10_000L + i, words, response);
+            pipelined += System.nanoTime() - start;
+        }
+        report("sequential {} µs, pipelined {} µs per paragraph",
+                micros(sequential, ITERATIONS), micros(pipelined, ITERATIONS));
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.ParagraphResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The Lua scripts and multi-key commands of {@link RedisService} against a real Redis; the services on top
+ * of them are covered by the Mockito tests. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class RedisServiceContainerTest {
+
+    @Container
+    private static final GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine")
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+    private static RedisService redisService;
+
+    @BeforeAll
+    public static void setUp() {
+        connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(), redisContainer.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisService = TestRedisServices.create(redisTemplate);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    public void testSavedParagraphIsIndexedByEveryWord() {
+        List<String> words = List.of("wort0", "wort1", "wort2");
+        redisService.saveParagraph(10_000L, words, ParagraphResponse.builder().text("Ein Text.").usedWords(words).build());
+
+        assertTrue(redisService.intersectWords(Set.of("wort0", "wort2")).contains(10_000L));
+    }
+
+    @Test
+    public void testGetParagraphsSkipsMissingIds() {
+        ParagraphResponse response = ParagraphResponse.builder().text("Hallo.").usedWords(List.of("hallo")).build();
+        redisService.saveParagraph(20_001L, List.of("hallo"), response);
+        redisService.saveParagraph(20_003L, List.of("hallo"), response);
+
+        Map<Long, ParagraphResponse> found = redisService.getParagraphs(List.of(20_001L, 20_002L, 20_003L));
+
+        assertEquals(List.of(20_001L, 20_003L), List.copyOf(found.keySet()));
+        assertEquals("Hallo.", found.get(20_003L).getText());
+    }
+
+    @Test
+    public void testSupersetLookupReturnsOnlyParagraphsWithEveryWord() {
+        for (long id = 30_000; id < 30_500; id++) {
+            List<String> words = id % 100 == 0 ? List.of("und", "die", "bahnhof") : List.of("und", "die");
+            redisService.saveParagraph(id, words, ParagraphResponse.builder().text("Text " + id).usedWords(words).build());
+        }
+
+        Map<Long, ParagraphResponse> found = redisService.findSupersetParagraphs(Set.of("und", "die", "bahnhof"), 3);
+
+        assertEquals(3, found.size());
+        found.forEach((id, p) -> {
+            assertEquals(0, id % 100);
+            assertEquals("Text " + id, p.getText());
+        });
+        assertTrue(redisService.findSupersetParagraphs(Set.of("und", "nirgends"), 1).isEmpty());
+    }
+
+    @Test
+    public void testDueScheduleIsRebuiltAndRankedByOverdueness() {
+        UUID userId = UUID.randomUUID();
+        Instant now = Instant.now();
+        Map<Long, Instant> schedule = new HashMap<>();
+        // a tenth of the words is overdue, word 0 the most
+        for (long id = 0; id < 100; id++) {
+            schedule.put(id, id % 10 == 0 ? now.minus(Duration.ofMinutes(100 - id)) : now.plus(Duration.ofDays(3)));
+        }
+        assertFalse(redisService.isDueScheduleLoaded(userId));
+
+        redisService.replaceDueScheduleFromDb(userId, schedule);
+
+        assertTrue(redisService.isDueScheduleLoaded(userId));
+        assertEquals(List.of(0L, 10L, 20L), redisService.getDueWordIds(userId, now, 3));
+    }
+
+    @Test
+    public void testReviewedWordsLeaveTheDueRangeAndNewWordsKeepExistingScores() {
+        UUID userId = UUID.randomUUID();
+        Instant now = Instant.now();
+        redisService.replaceDueScheduleFromDb(userId, Map.of(1L, now.minus(Duration.ofHours(1)), 2L, now.plus(Duration.ofDays(1))));
+
+        redisService.scheduleReview(userId, 1L, now.plus(Duration.ofDays(7)));
+        redisService.scheduleNewWords(userId, List.of(2L, 3L), now.minus(Duration.ofDays(1)));
+
+        assertEquals(List.of(3L), redisService.getDueWordIds(userId, now, 10));
+    }
+
+    @Test
+    public void testBufferIsFifo() {
+        redisService.pushBufferedParagraph("B1:LONG:", 1);
+        redisService.pushBufferedParagraph("B1:LONG:", 2);
+
+        assertEquals(2, redisService.bufferedParagraphCount("B1:LONG:"));
+        assertEquals(1L, redisService.popBufferedParagraph("B1:LONG:"));
+        assertEquals(2L, redisService.popBufferedParagraph("B1:LONG:"));
+        assertNull(redisService.popBufferedParagraph("B1:LONG:"));
+    }
+
+    @Test
+    public void testDemandIsRankedAndThresholded() {
+        Duration window = Duration.ofHours(24);
+        for (int i = 0; i < 4_000; i++) {
+            // topic k gets 1/2^(k+1) of the requests
+            redisService.recordParagraphDemand("A2:SHORT:topic" + Integer.numberOfTrailingZeros(i + 1), window);
+        }
+
+        List<String> top = redisService.topParagraphDemand(window, Duration.ofHours(6), 400, 10);
+
+        assertEquals(List.of("A2:SHORT:topic0", "A2:SHORT:topic1", "A2:SHORT:topic2"), top);
+    }
+
+    @Test
+    public void testRateLimitIsSharedByConcurrentCallers() throws Exception {
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Callable<Void>> callers = Collections.nCopies(200, () -> {
+            if (redisService.tryConsumeRate("containerTest", 10, Duration.ofMinutes(10))) granted.incrementAndGet();
+            return null;
+        });
+        pool.invokeAll(callers);
+        pool.shutdown();
+
+        assertEquals(10, granted.get());
+    }
+
+    @Test
+    public void testSamplingNeverReturnsAssignedWords() {
+        UUID userId = UUID.randomUUID();
+        redisService.addLevelWordIds("A1", "sample", LongStream.range(0, 1_000).boxed().toList());
+        redisService.addUserAssignedWords(userId, "A1", "sample", LongStream.range(0, 100).boxed().toList());
+
+        List<Long> sampled = redisService.getRandomUnseenWordsForUser(userId, "A1", "sample", 20);
+
+        assertEquals(20, new HashSet<>(sampled).size());
+        sampled.forEach(id -> assertTrue(id >= 100, "sampled an assigned word"));
+    }
+
+    @Test
+    public void testSamplingFallsBackToExactDiffWhenPoolIsMostlyAssigned() {
+        UUID userId = UUID.randomUUID();
+        redisService.addLevelWordIds("B1", "dense", LongStream.range(0, 1_000).boxed().toList());
+        redisService.addUserAssignedWords(userId, "B1", "dense", LongStream.range(0, 995).boxed().toList());
+
+        List<Long> sampled = redisService.getRandomUnseenWordsForUser(userId, "B1", "dense", 20);
+
+        assertEquals(Set.of(995L, 996L, 997L, 998L, 999L), new HashSet<>(sampled));
+    }
+
+    @Test
+    public void testMigratedBitmapExcludesSameWords() {
+        UUID userId = UUID.randomUUID();
+        RedisService sets = service(RedisService.AssignedEncoding.SET);
+        RedisService bitmaps = service(RedisService.AssignedEncoding.BITMAP);
+        sets.addLevelWordIds("A2", "mig", LongStream.range(0, 100).boxed().toList());
+        sets.addUserAssignedWords(userId, "A2", "mig", LongStream.range(0, 90).boxed().toList());
+
+        // before migration the bitmap mode still honours the legacy set
+        assertEquals(Set.copyOf(LongStream.range(90, 100).boxed().toList()),
+                Set.copyOf(bitmaps.getUnseenWordsForUser(userId, "A2", "mig")));
+
+        String assignedKey = TestRedisServices.LAYOUT.userAssigned(userId, "A2", "mig");
+        assertEquals(90, bitmaps.migrateUserAssignedToBitmap(assignedKey));
+        assertFalse(Boolean.TRUE.equals(redisTemplate.hasKey(assignedKey)));
+
+        assertTrue(bitmaps.isUserAssignedWord(userId, "A2", "mig", 5L));
+        assertEquals(Set.copyOf(LongStream.range(90, 100).boxed().toList()),
+                Set.copyOf(bitmaps.getRandomUnseenWordsForUser(userId, "A2", "mig", 20)));
+
+        bitmaps.removeUserAssignedWords(userId, "A2", "mig", List.of(5L));
+        assertFalse(bitmaps.isUserAssignedWord(userId, "A2", "mig", 5L));
+    }
+
+    private static RedisService service(RedisService.AssignedEncoding encoding) {
+        RedisService service = TestRedisServices.create(redisTemplate);
+        ReflectionTestUtils.setField(service, "assignedEncoding", encoding);
+        return service;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.ParagraphResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Full SINTER + MGET versus the selectivity-ordered superset script as the corpus grows. Every paragraph
+ * contains the common word "und"; one in a hundred also contains "bahnhof".
+ * Run with: mvn test -Dtest=RedisSupersetLookupBenchmarkTest -Dbenchmark=true
+ */
+public class RedisSupersetLookupBenchmarkTest extends RedisBenchmarkSupport {
+
+    private static final int ITERATIONS = 500;
+
+    @Test
+    public void compareSinterAndScript() {
+        Set<String> query = Set.of("und", "die", "bahnhof");
+        long next = 0;
+        for (int corpus : new int[]{1_000, 10_000, 100_000}) {
+            for (; next < corpus; next++) {
+                List<String> words = next % 100 == 0 ? List.of("und", "die", "bahnhof") : List.of("und", "die");
+                redisService.saveParagraph(next, words, ParagraphResponse.builder().text("Text " + next).usedWords(words).build());
+            }
+
+            long sinter = 0, script = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                List<Long> ids = redisService.intersectWords(query).stream()
+                        .limit(1).toList();
+                redisService.getParagraphs(ids);
+                sinter += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                redisService.findSupersetParagraphs(query, 1);
+                script += System.nanoTime() - start;
+            }
+            report("corpus {}: sinter {} µs, script {} µs", corpus, micros(sinter, ITERATIONS), micros(script, ITERATIONS));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.languageservice.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.LongStream;
+
+/**
+ * Compares the legacy unseen-word path (SDIFF into the JVM, shuffle, sublist) with the server-side
+ * sampling script as the level pool grows. Run with: mvn test -Dtest=RedisUnseenSamplingBenchmarkTest -Dbenchmark=true
+ */
+public class RedisUnseenSamplingBenchmarkTest extends RedisBenchmarkSupport {
+
+    private static final int COUNT = 20;
+    private static final int ITERATIONS = 200;
+
+    @Test
+    public void compareLegacyAndServerSideSampling() {
+        for (int poolSize : new int[]{1_000, 10_000, 50_000, 200_000}) {
+            UUID userId = UUID.randomUUID();
+            String level = "A1";
+            String language = "bench" + poolSize;
+
+            redisService.addLevelWordIds(level, language, LongStream.range(0, poolSize).boxed().toList());
+            // user has seen 10% of the pool
+            List<Long> assigned = LongStream.range(0, poolSize / 10).boxed().toList();
+            redisService.addUserAssignedWords(userId, level, language, assigned);
+
+            long legacyBytes = 0, scriptBytes = 0, legacyNanos = 0, scriptNanos = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                Set<String> diff = redisTemplate.opsForSet().difference(
+                        TestRedisServices.LAYOUT.levelWordIds(userId, level, language),
+                        TestRedisServices.LAYOUT.userAssigned(userId, level, language));
+                List<Long> unseen = new ArrayList<>(diff.stream().map(Long::valueOf).toList());
+                Collections.shuffle(unseen);
+                unseen.subList(0, COUNT);
+                legacyNanos += System.nanoTime() - start;
+                legacyBytes += diff.stream().mapToLong(String::length).sum();
+
+                start = System.nanoTime();
+                List<Long> sampled = redisService.getRandomUnseenWordsForUser(userId, level, language, COUNT);
+                scriptNanos += System.nanoTime() - start;
+                scriptBytes += sampled.stream().mapToLong(id -> String.valueOf(id).length()).sum();
+            }
+
+            report("pool {}: legacy {} bytes {} µs, script {} bytes {} µs", poolSize,
+                    legacyBytes / ITERATIONS, micros(legacyNanos, ITERATIONS),
+                    scriptBytes / ITERATIONS, micros(scriptNanos, ITERATIONS));
+        }
+    }
+}
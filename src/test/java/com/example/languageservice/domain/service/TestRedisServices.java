@@ -0,0 +1,42 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.domain.utils.VersionedRedisCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+
+/**
+ * Builds a {@link RedisService} wired like RedisConfig does, for the Testcontainers tests and benchmarks.
+ */
+final class TestRedisServices {
+
+    // standalone defaults: one pool replica, one paragraph shard
+    static final RedisKeyLayout LAYOUT = new RedisKeyLayout(1, 1, false);
+
+    private TestRedisServices() {}
+
+    static RedisService create(RedisConnectionFactory connectionFactory) {
+        return create(new StringRedisTemplate(connectionFactory));
+    }
+
+    static RedisService create(StringRedisTemplate redisTemplate) {
+        return create(redisTemplate, LAYOUT);
+    }
+
+    static RedisService create(StringRedisTemplate redisTemplate, RedisKeyLayout layout) {
+        RedisTemplate<String, byte[]> binaryTemplate = new RedisTemplate<>();
+        binaryTemplate.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        binaryTemplate.setKeySerializer(RedisSerializer.string());
+        binaryTemplate.setValueSerializer(RedisSerializer.byteArray());
+        binaryTemplate.afterPropertiesSet();
+        VersionedRedisCodec codec = new VersionedRedisCodec(
+                new ObjectMapper().findAndRegisterModules(), VersionedRedisCodec.Format.SMILE, 1024);
+        RedisGuard guard = new RedisGuard(new SimpleMeterRegistry(), 5, Duration.ofSeconds(10), 10_000, 10_000);
+        return new RedisService(redisTemplate, binaryTemplate, codec, guard, layout);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.WordDto;
+import com.example.languageservice.domain.index.InflectionIndex;
+import com.example.languageservice.domain.index.WordSuggestIndex;
+import com.example.languageservice.domain.model.Language;
+import com.example.languageservice.domain.model.LanguageLevel;
+import com.example.languageservice.domain.model.Word;
+import com.example.languageservice.domain.model.WordForm;
+import com.example.languageservice.domain.model.WordRelation;
+import com.example.languageservice.domain.repository.LanguageRepository;
+import com.example.languageservice.domain.repository.WordConjugationRepository;
+import com.example.languageservice.domain.repository.WordFormRepository;
+import com.example.languageservice.domain.repository.WordRelationRepository;
+import com.example.languageservice.domain.repository.WordRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+public class WordIngestionServiceTest {
+
+    @Mock
+    private WordRepository wordRepository;
+
+    @Mock
+    private WordFormRepository wordFormRepository;
+
+    @Mock
+    private WordConjugationRepository wordConjugationRepository;
+
+    @Mock
+    private WordRelationRepository wordRelationRepository;
+
+    @Mock
+    private LanguageRepository languageRepository;
+
+    @Mock
+    private InflectionIndex inflectionIndex;
+
+    @Mock
+    private WordSuggestIndex wordSuggestIndex;
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private WordIngestionService wordIngestionService;
+
+    // ids the sequence would hand out on persist
+    private final AtomicLong sequence = new AtomicLong(100);
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Language german = new Language();
+        german.setCode("de");
+        Word haus = Word.builder().id(1L).word("haus").language(german).level(LanguageLevel.A1).build();
+        when(languageRepository.findByCodeIn(Set.of("de"))).thenReturn(List.of(german));
+        when(wordRepository.findByWordInAndLanguageCodeIn(anyCollection(), anyCollection())).thenReturn(List.of(haus));
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) instanceof Word word) word.setId(sequence.getAndIncrement());
+            return null;
+        }).when(entityManager).persist(any());
+    }
+
+    @Test
+    public void testExistingWordsAreReusedAndNewOnesPersisted() {
+        WordDto haus = word("haus", "heim");
+        WordDto baum = word("baum");
+
+        List<Long> ids = wordIngestionService.ingest(List.of(haus, baum));
+
+        // heim is created first, as the synonym of haus
+        assertEquals(List.of(1L, 101L), ids);
+        assertEquals(1L, haus.getId());
+        assertEquals(101L, baum.getId());
+        verify(entityManager, times(2)).persist(any(Word.class));
+        verify(entityManager).persist(argThat(o -> o instanceof WordRelation r
+                && "SYNONYM".equals(r.getRelationType()) && r.getRelatedWord().getId() == 100L));
+    }
+
+    @Test
+    public void testCreatedRelatedWordsAreRegistered() {
+        wordIngestionService.ingest(List.of(word("haus", "heim"), word("baum")));
+
+        verify(inflectionIndex).addWord(argThat(dto -> "heim".equals(dto.getWord()) && dto.getId() == 100L));
+        verify(wordSuggestIndex).addWord(argThat(dto -> "heim".equals(dto.getWord()) && dto.getId() == 100L));
+        // no transaction in this test, so the pools are updated right away
+        verify(redisService).addLevelWordIds(Map.of(new RedisService.LevelPool("A1", "de"), List.of(1L, 101L, 100L)));
+    }
+
+    @Test
+    public void testKnownFormsAreNotStoredAgain() {
+        WordDto gehen = word("gehen");
+        gehen.setForms(List.of("ging", "gegangen"));
+        when(wordFormRepository.findExistingForms(anyCollection())).thenReturn(List.of("ging"));
+
+        wordIngestionService.ingest(List.of(gehen));
+
+        verify(entityManager).persist(argThat(o -> o instanceof WordForm f && "gegangen".equals(f.getForm())));
+        verify(entityManager, never()).persist(argThat(o -> o instanceof WordForm f && "ging".equals(f.getForm())));
+    }
+
+    @Test
+    public void testUnsupportedLanguageIsRejected() {
+        WordDto bonjour = word("bonjour");
+        bonjour.setLanguage("fr");
+
+        assertThrows(IllegalArgumentException.class, () -> wordIngestionService.ingest(List.of(bonjour)));
+
+        verify(entityManager, never()).persist(any());
+        verifyNoInteractions(redisService);
+    }
+
+    private static WordDto word(String text, String... synonyms) {
+        return WordDto.builder()
+                .word(text)
+                .language("de")
+                .level("A1")
+                .synonyms(List.of(synonyms))
+                .build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.languageservice.domain.service;
+
+import com.example.languageservice.api.dto.BatchTranslationResponse;
+import com.example.languageservice.api.dto.UserRandomWordRequest;
+import com.example.languageservice.api.dto.WordDto;
+import com.example.languageservice.domain.index.InflectionIndex;
+import com.example.languageservice.domain.index.SymmetricDeleteIndex;
+import com.example.languageservice.domain.model.BoxType;
+import com.example.languageservice.domain.model.Language;
+import com.example.languageservice.domain.model.LanguageLevel;
+import com.example.languageservice.domain.model.WordTranslation;
+import com.example.languageservice.domain.repository.LanguageRepository;
+import com.example.languageservice.domain.repository.UserWordRepository;
+import com.example.languageservice.domain.repository.WordRepository;
+import com.example.languageservice.domain.repository.WordTranslationRepository;
+import com.example.languageservice.security.SecurityUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class WordServiceTest {
+
+    @Mock
+    private WordRepository wordRepository;
+
+    @Mock
+    private UserWordRepository userWordRepository;
+
+    @Mock
+    private WordTranslationRepository wordTranslationRepository;
+
+    @Mock
+    private LanguageRepository languageRepository;
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private WordCacheService wordCacheService;
+
+    @Mock
+    private InflectionIndex inflectionIndex;
+
+    @Mock
+    private WordIngestionService wordIngestionService;
+
+    @Mock
+    private LlmService llmService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private WordService wordService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(languageRepository.findByCode("de")).thenReturn(Optional.of(new Language()));
+        when(languageRepository.findByCode("en")).thenReturn(Optional.of(new Language()));
+        when(redisService.getCachedTranslations(eq("de"), eq("en"), anyList())).thenReturn(Map.of());
+        when(wordCacheService.getAll(anyCollection(), any())).thenReturn(List.of());
+        when(inflectionIndex.isReady()).thenReturn(true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInflectionsOfOneLemmaAreTranslatedAndLinkedOnce() throws Exception {
+        // "gehen" and "ging" are both forms of word 1
+        when(inflectionIndex.lookup("gehen")).thenReturn(Optional.of(1L));
+        when(inflectionIndex.lookup("ging")).thenReturn(Optional.of(1L));
+        WordDto go = WordDto.builder().word("go").language("en").level("A1").build();
+        when(llmService.generateTranslatedWords(List.of("gehen"), "de", "en")).thenReturn(List.of(go));
+        when(wordIngestionService.ingest(List.of(go))).thenAnswer(invocation -> {
+            go.setId(7L);
+            return List.of(7L);
+        });
+
+        BatchTranslationResponse response;
+        try (MockedStatic<SecurityUtils> mocked = mockStatic(SecurityUtils.class)) {
+            mocked.when(SecurityUtils::getCurrentUserId).thenReturn(userId);
+            response = wordService.translateWords(List.of("gehen", "ging"), "de", "en");
+        }
+
+        assertEquals(2, response.getItems().size());
+        for (BatchTranslationResponse.Item item : response.getItems()) {
+            assertEquals(BatchTranslationResponse.Tier.LLM, item.getTier());
+            assertSame(go, item.getTranslation());
+        }
+        verify(llmService, times(1)).generateTranslatedWords(anyList(), eq("de"), eq("en"));
+
+        ArgumentCaptor<List<WordTranslation>> links = ArgumentCaptor.forClass(List.class);
+        verify(wordTranslationRepository).saveAll(links.capture());
+        assertEquals(1, links.getValue().size());
+
+        ArgumentCaptor<Map<String, WordDto>> cached = ArgumentCaptor.forClass(Map.class);
+        verify(redisService).cacheTranslations(eq("de"), eq("en"), cached.capture(), anyCollection());
+        assertEquals(Map.of("gehen", go, "ging", go), cached.getValue());
+    }
+
+    @Test
+    public void testInputsWithoutSourceWordAreNotFound() {
+        when(inflectionIndex.lookup("xyz")).thenReturn(Optional.empty());
+        when(wordRepository.findByWordInAndLanguageCodeIn(anyCollection(), anyCollection())).thenReturn(List.of());
+
+        BatchTranslationResponse response = wordService.translateWords(List.of("xyz"), "de", "en");
+
+        assertEquals(BatchTranslationResponse.Tier.NOT_FOUND, response.getItems().getFirst().getTier());
+        verify(redisService).cacheTranslations(eq("de"), eq("en"), eq(Map.of()), eq(List.of("xyz")));
+    }
+
+    @Test
+    public void testMisspelledInputIsNotTranslatedAsTheClosestWord() {
+        // "Hand" is one edit away from the known "Hund", but translating that would link Hund to "hand"
+        when(inflectionIndex.lookup("Hand")).thenReturn(Optional.empty());
+        when(inflectionIndex.suggest(eq("Hand"), anyInt())).thenReturn(List.of(new SymmetricDeleteIndex.Match("Hund", 2L, 1)));
+        when(wordRepository.findByWordInAndLanguageCodeIn(anyCollection(), anyCollection())).thenReturn(List.of());
+
+        BatchTranslationResponse response = wordService.translateWords(List.of("Hand"), "de", "en");
+
+        assertEquals(BatchTranslationResponse.Tier.NOT_FOUND, response.getItems().getFirst().getTier());
+        verify(inflectionIndex, never()).suggest(anyString(), anyInt());
+        verify(wordTranslationRepository, never()).findLinks(anyCollection(), anyString(), anyString());
+        verify(redisService).cacheTranslations(eq("de"), eq("en"), eq(Map.of()), eq(List.of("Hand")));
+    }
+
+    @Test
+    public void testRandomWordsSampleTheUsersLevelPoolAndTopUpFromTheDb() {
+        when(redisService.isUserAssignedMirrorLoaded(userId, "A1", "de")).thenReturn(false);
+        when(userWordRepository.findAssignedWordIds(userId, LanguageLevel.A1, "de")).thenReturn(List.of(9L));
+        when(redisService.getRandomUnseenWordsForUser(userId, "A1", "de", 3)).thenReturn(List.of(1L, 2L));
+        when(wordRepository.findRandomUnassignedWords(userId, "A1", "de", 1)).thenReturn(List.of(3L));
+
+        wordService.getRandomWords(randomWords(3));
+
+        verify(redisService).loadUserAssignedFromDb(userId, "A1", "de", List.of(9L));
+        verify(redisService).recordPoolSupply("A1", "de", 3, 2);
+        verify(userWordRepository).insertMissingAssignments(userId, new Long[]{1L, 2L, 3L}, BoxType.INIT.getId());
+        verify(redisService).addUserAssignedWords(userId, "A1", "de", List.of(1L, 2L, 3L));
+        verify(redisService, never()).markPoolStarved(anyString(), anyString());
+    }
+
+    @Test
+    public void testShortDeckFlagsThePoolAsStarved() {
+        when(redisService.isUserAssignedMirrorLoaded(userId, "A1", "de")).thenReturn(true);
+        when(redisService.getRandomUnseenWordsForUser(userId, "A1", "de", 3)).thenReturn(List.of(1L));
+        when(wordRepository.findRandomUnassignedWords(eq(userId), eq("A1"), eq("de"), anyInt())).thenReturn(List.of());
+
+        wordService.getRandomWords(randomWords(3));
+
+        verify(userWordRepository, never()).findAssignedWordIds(any(), any(), anyString());
+        verify(redisService).markPoolStarved("A1", "de");
+    }
+
+    private UserRandomWordRequest randomWords(int count) {
+        return UserRandomWordRequest.builder()
+                .userId(userId)
+                .level("A1")
+                .sourceLanguage("de")
+                .count(count)
+                .build();
+    }
+}
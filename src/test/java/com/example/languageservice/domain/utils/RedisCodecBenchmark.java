@@ -0,0 +1,99 @@
+package com.example.languageservice.domain.utils;
+
+import com.example.languageservice.api.dto.ParagraphResponse;
+import com.example.languageservice.api.dto.WordDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Encode/decode cost and payload size of the Redis codec formats for the two cached payload shapes:
+ * a paragraph with 20 or 200 used words, and a due-word list of 20 or 200 hydrated words.
+ * Run with: mvn test -Dtest=RedisCodecBenchmark -Dbenchmark=true
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisCodecBenchmark {
+
+    @Param({"JSON", "SMILE", "SMILE_DEFLATED"})
+    public String format;
+
+    @Param({"PARAGRAPH", "DUE_WORDS"})
+    public String payload;
+
+    @Param({"20", "200"})
+    public int words;
+
+    private RedisCodec codec;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+        codec = switch (format) {
+            case "JSON" -> new VersionedRedisCodec(json, VersionedRedisCodec.Format.JSON, Integer.MAX_VALUE);
+            case "SMILE" -> new VersionedRedisCodec(json, VersionedRedisCodec.Format.SMILE, Integer.MAX_VALUE);
+            default -> new VersionedRedisCodec(json, VersionedRedisCodec.Format.SMILE, 0);
+        };
+        value = "PARAGRAPH".equals(payload) ? VersionedRedisCodecTest.paragraph(words) : dueWords(words);
+        encoded = codec.encode(value);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return "PARAGRAPH".equals(payload)
+                ? codec.decode(encoded, ParagraphResponse.class)
+                : codec.decodeList(encoded, WordDto.class);
+    }
+
+    static List<WordDto> dueWords(int count) {
+        return IntStream.range(0, count).mapToObj(i -> WordDto.builder()
+                .id(10_000L + i)
+                .word("Wort" + i)
+                .language("de")
+                .level("A2")
+                .partOfSpeech("NOUN")
+                .forms(List.of("Wort" + i + "e", "Wort" + i + "es"))
+                .conjugations(Map.of())
+                .examples(List.of("Das Wort" + i + " steht im Satz.", "Ich lerne das Wort" + i + " heute."))
+                .tips(List.of("Plural endet auf -e"))
+                .synonyms(List.of("Begriff" + i))
+                .antonyms(List.of())
+                .build()).toList();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void run() throws Exception {
+        for (String p : new String[]{"PARAGRAPH", "DUE_WORDS"}) {
+            for (String f : new String[]{"JSON", "SMILE", "SMILE_DEFLATED"}) {
+                for (int w : new int[]{20, 200}) {
+                    payload = p;
+                    format = f;
+                    words = w;
+                    setUp();
+                    System.out.printf("%-9s %-15s %4d words: %6d bytes%n", p, f, w, encoded.length);
+                }
+            }
+        }
+        new Runner(new OptionsBuilder().include(RedisCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.languageservice.domain.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTest {
+
+    @Test
+    public void testConcurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> flight.execute("haus", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "house";
+                })));
+            }
+            // let every caller reach the map before the leader finishes
+            while (loads.get() == 0) Thread.onSpinWait();
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("house", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(0, flight.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailureIsNotRemembered() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+
+        assertThrows(IllegalArgumentException.class, () -> flight.execute("x", () -> {
+            throw new IllegalArgumentException("not found");
+        }));
+        assertEquals("ok", flight.execute("x", () -> "ok"));
+    }
+
+    @Test
+    public void testWaiterLoadsItselfWhenLeaderHangs() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofMillis(100));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> flight.execute("haus", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return "leader";
+            }));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+
+            assertEquals("own", flight.execute("haus", () -> "own"));
+
+            release.countDown();
+            assertEquals("leader", leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
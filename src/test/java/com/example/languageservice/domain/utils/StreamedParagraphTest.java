@@ -0,0 +1,53 @@
+package com.example.languageservice.domain.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class StreamedParagraphTest {
+
+    private static final String MARKER = "###META###";
+
+    private final List<String> emitted = new ArrayList<>();
+    private final StreamedParagraph paragraph = new StreamedParagraph(MARKER, emitted::add);
+
+    @Test
+    public void testMarkerSplitAcrossChunksIsNeverEmitted() {
+        for (String delta : List.of("Der Hund ", "läuft.", "\n##", "#ME", "TA###", "{\"usedWords\":", "[\"Hund\"]}")) {
+            paragraph.accept(delta);
+        }
+        paragraph.finish();
+
+        assertEquals("Der Hund läuft.\n", String.join("", emitted));
+        assertEquals("Der Hund läuft.", paragraph.text());
+        assertEquals("{\"usedWords\":[\"Hund\"]}", paragraph.metadata());
+    }
+
+    @Test
+    public void testTextIsEmittedBeforeTheStreamEnds() {
+        paragraph.accept("Ein langer Satz über das Wetter");
+
+        // the last marker.length() - 1 characters could still start the marker
+        assertEquals("Ein langer Satz über d", String.join("", emitted));
+    }
+
+    @Test
+    public void testWithoutMarkerEverythingIsText() {
+        paragraph.accept("Kurz.");
+        paragraph.finish();
+
+        assertEquals("Kurz.", String.join("", emitted));
+        assertNull(paragraph.metadata());
+    }
+
+    @Test
+    public void testFencedMetadata() {
+        paragraph.accept("Text\n" + MARKER + "\n```json\n{\"usedWords\":[]}\n```");
+
+        assertEquals("{\"usedWords\":[]}", paragraph.metadata());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.languageservice.domain.utils;
+
+import com.example.languageservice.api.dto.ParagraphResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VersionedRedisCodecTest {
+
+    private final ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+    private final VersionedRedisCodec codec = new VersionedRedisCodec(json, VersionedRedisCodec.Format.SMILE, 1024);
+
+    @Test
+    public void testSmallPayloadIsSmileAndRoundTrips() {
+        ParagraphResponse paragraph = paragraph(5);
+
+        byte[] bytes = codec.encode(paragraph);
+
+        assertEquals(VersionedRedisCodec.SMILE, bytes[0]);
+        assertEquals(paragraph, codec.decode(bytes, ParagraphResponse.class));
+    }
+
+    @Test
+    public void testLargePayloadIsDeflatedAndSmallerThanJson() throws Exception {
+        ParagraphResponse paragraph = paragraph(200);
+
+        byte[] bytes = codec.encode(paragraph);
+
+        assertEquals(VersionedRedisCodec.SMILE_DEFLATED, bytes[0]);
+        assertTrue(bytes.length < json.writeValueAsBytes(paragraph).length);
+        assertEquals(paragraph, codec.decode(bytes, ParagraphResponse.class));
+    }
+
+    @Test
+    public void testLegacyJsonIsStillReadable() throws Exception {
+        ParagraphResponse paragraph = paragraph(3);
+        List<ParagraphResponse> list = List.of(paragraph, paragraph(1));
+
+        assertEquals(paragraph, codec.decode(json.writeValueAsBytes(paragraph), ParagraphResponse.class));
+        assertEquals(list, codec.decodeList(json.writeValueAsBytes(list), ParagraphResponse.class));
+    }
+
+    @Test
+    public void testJsonWriteFormatIsReadableByOlderNodes() throws Exception {
+        VersionedRedisCodec rollback = new VersionedRedisCodec(json, VersionedRedisCodec.Format.JSON, 1024);
+        ParagraphResponse paragraph = paragraph(3);
+
+        byte[] bytes = rollback.encode(paragraph);
+
+        assertEquals(paragraph, json.readValue(bytes, ParagraphResponse.class));
+        assertEquals(paragraph, codec.decode(bytes, ParagraphResponse.class));
+    }
+
+    static ParagraphResponse paragraph(int words) {
+        List<String> used = IntStream.range(0, words).mapToObj(i -> "wort" + i).toList();
+        return ParagraphResponse.builder()
+                .text(String.join(" ", used) + ".")
+                .translation(String.join(" ", used.stream().map(w -> w.replace("wort", "word")).toList()) + ".")
+                .usedWords(used)
+                .difficulty("B1")
+                .topic("travel")
+                .build();
+    }
+}